@@ -0,0 +1,84 @@
+package afd.benchmark;
+
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.automato.ResultadoProcessamento;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verificação de uma palavra pelo autômato compilado, de 10 a 100 mil estados,
+ * alfabetos de 2 a 256 símbolos e palavras de 10 a 10<sup>7</sup> símbolos.<p>
+ * Mede a vazão e a distribuição da latência de cada chamada. A taxa de alocação
+ * é obtida com o profiler de coleta de lixo do JMH (<i>-prof gc</i>).
+ * @see InterpretadorBenchmark
+ * @author Leandro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AceitacaoBenchmark {
+
+    /**Número de estados do autômato.*/
+    @Param({"10", "1000", "100000"})
+    public int estados;
+    /**Número de símbolos do alfabeto.*/
+    @Param({"2", "16", "256"})
+    public int simbolos;
+    /**Tamanho da palavra.*/
+    @Param({"10", "1000", "100000", "10000000"})
+    public int comprimento;
+
+    /**Autômato verificado.*/
+    private AutomatoCompilado automato;
+    /**Palavra verificada.*/
+    private FitaEntrada palavra;
+    /**Palavra verificada, como sequência de caracteres.*/
+    private String cadeia;
+
+    @Setup
+    public void preparar() {
+        automato = Modelos.compilado(estados, simbolos, Modelos.SEMENTE);
+        palavra = Modelos.palavra(simbolos, comprimento, Modelos.SEMENTE);
+        cadeia = new String(palavra.getCadeia());
+    }
+
+    @Benchmark
+    public boolean aceita() {
+        return automato.aceita(palavra);
+    }
+
+    @Benchmark
+    public boolean aceitaCadeia() {
+        return automato.aceita(cadeia);
+    }
+
+    @Benchmark
+    public int estadoFinal() {
+        return automato.estadoFinal(palavra);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento processar() {
+        return automato.processar(palavra);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento processarParalelo() {
+        return automato.processarParalelo(palavra);
+    }
+
+}
@@ -0,0 +1,215 @@
+package afd.benchmark;
+
+import afd.alfabeto.Alfabeto;
+import afd.alfabeto.Simbolo;
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.estados.Estado;
+import afd.estados.Estados;
+import afd.ftransicao.FuncaoTransicao;
+import afd.ftransicao.TabelaTransicao;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tempo de montagem do autômato pela API de edição, de mil a um milhão de
+ * estados e transições, para acompanhar a escalabilidade da construção.<p>
+ * Cada medição é uma única montagem completa (<i>single shot</i>), feita sobre
+ * estruturas novas, com os elementos inseridos em ordem aleatória:
+ * <ul>
+ * <li><b>estados</b>: inserção de todos os estados em {@link Estados};
+ * <li><b>alfabeto</b>: inserção de todos os símbolos no {@link Alfabeto};
+ * <li><b>funcaoTransicao</b>: inclusão de todas as transições na
+ * {@link FuncaoTransicao}, sobre estados e alfabeto já montados, seguida da
+ * compilação da tabela;
+ * <li><b>automato</b>: montagem completa do {@link Automato}, da inserção dos
+ * símbolos à forma compilada.
+ * </ul>
+ * As funções de transição têm {@link #SIMBOLOS} símbolos, de modo que o número
+ * de estados é o de transições dividido por esse valor. A repetição de
+ * transições é verificada por hash, de modo que a construção deve crescer de
+ * forma quase linear com o tamanho.
+ * @author Leandro
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConstrucaoBenchmark {
+
+    /**Número de símbolos das funções de transição.*/
+    public static final int SIMBOLOS = 16;
+
+    /**
+     * Nomes dos estados, em ordem aleatória.
+     */
+    @State(Scope.Benchmark)
+    public static class Nomes {
+
+        /**Número de estados.*/
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int estados;
+
+        /**Estados a serem inseridos.*/
+        Estado[] inseridos;
+
+        @Setup(Level.Iteration)
+        public void preparar() {
+            //Os estados são recriados, pois cada estado pertence a um único conjunto.
+            inseridos = new Estado[estados];
+            int[] ordem = permutacao(estados);
+            for (int i = 0; i < estados; i++) {
+                inseridos[i] = new Estado(Modelos.nome(ordem[i]), (ordem[i] & 1) == 0);
+            }
+        }
+
+    }
+
+    /**
+     * Símbolos do alfabeto, em ordem aleatória.
+     */
+    @State(Scope.Benchmark)
+    public static class Caracteres {
+
+        /**Número de símbolos, até todo o conjunto de caracteres.*/
+        @Param({"256", "4096", "65536"})
+        public int simbolos;
+
+        /**Símbolos a serem inseridos.*/
+        Simbolo[] inseridos;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            inseridos = new Simbolo[simbolos];
+            int[] ordem = permutacao(simbolos);
+            for (int i = 0; i < simbolos; i++) {
+                inseridos[i] = new Simbolo((char) ordem[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Transições do autômato, em ordem aleatória.
+     */
+    @State(Scope.Benchmark)
+    public static class Transicoes {
+
+        /**Número de transições.*/
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int transicoes;
+
+        /**Número de estados.*/
+        int estados;
+        /**Nomes dos estados de origem, por transição.*/
+        String[] origens;
+        /**Símbolos, por transição.*/
+        Character[] simbolos;
+        /**Nomes dos estados de destino, por transição.*/
+        String[] destinos;
+        /**Estados já montados, para a função de transição isolada.*/
+        Estados conjunto;
+        /**Alfabeto já montado, para a função de transição isolada.*/
+        Alfabeto alfabeto;
+
+        @Setup(Level.Trial)
+        public void preparar() throws Exception {
+            estados = Math.max(1, transicoes / SIMBOLOS);
+            int[] tabela = Modelos.destinos(estados, SIMBOLOS, Modelos.SEMENTE);
+            int[] ordem = permutacao(tabela.length);
+            origens = new String[tabela.length];
+            simbolos = new Character[tabela.length];
+            destinos = new String[tabela.length];
+            char[] caracteres = Modelos.simbolos(SIMBOLOS);
+            for (int i = 0; i < tabela.length; i++) {
+                origens[i] = Modelos.nome(ordem[i] / SIMBOLOS);
+                simbolos[i] = caracteres[ordem[i] % SIMBOLOS];
+                destinos[i] = Modelos.nome(tabela[ordem[i]]);
+            }
+            conjunto = new Estados();
+            for (int q = 0; q < estados; q++) {
+                conjunto.inserir(new Estado(Modelos.nome(q), (q & 1) == 0));
+            }
+            alfabeto = new Alfabeto();
+            for (char caractere : caracteres) {
+                alfabeto.inserir(new Simbolo(caractere));
+            }
+        }
+
+    }
+
+    /**
+     * Permutação aleatória dos inteiros de 0 a <i>n - 1</i>.
+     * @param n número de elementos.
+     * @return Permutação.
+     */
+    static int[] permutacao(int n) {
+        SplittableRandom aleatorio = new SplittableRandom(Modelos.SEMENTE);
+        int[] ordem = new int[n];
+        for (int i = 0; i < n; i++) {
+            int j = aleatorio.nextInt(i + 1);
+            ordem[i] = ordem[j];
+            ordem[j] = i;
+        }
+        return ordem;
+    }
+
+    @Benchmark
+    public Estados estados(Nomes nomes) throws Exception {
+        Estados conjunto = new Estados();
+        for (Estado estado : nomes.inseridos) {
+            conjunto.inserir(estado);
+        }
+        return conjunto;
+    }
+
+    @Benchmark
+    public Alfabeto alfabeto(Caracteres caracteres) {
+        Alfabeto alfabeto = new Alfabeto();
+        for (Simbolo simbolo : caracteres.inseridos) {
+            alfabeto.inserir(simbolo);
+        }
+        return alfabeto;
+    }
+
+    @Benchmark
+    public TabelaTransicao funcaoTransicao(Transicoes transicoes) {
+        FuncaoTransicao funcao = new FuncaoTransicao(transicoes.conjunto, transicoes.alfabeto);
+        for (int i = 0; i < transicoes.origens.length; i++) {
+            funcao.adicionarTransicao(transicoes.origens[i], transicoes.simbolos[i],
+                transicoes.destinos[i]);
+        }
+        return funcao.compilar();
+    }
+
+    @Benchmark
+    public AutomatoCompilado automato(Transicoes transicoes) throws Exception {
+        Automato automato = new Automato();
+        for (char caractere : Modelos.simbolos(SIMBOLOS)) {
+            automato.getAlfabeto().inserir(new Simbolo(caractere));
+        }
+        for (int q = 0; q < transicoes.estados; q++) {
+            automato.getEstados().inserir(new Estado(Modelos.nome(q), (q & 1) == 0));
+        }
+        for (int i = 0; i < transicoes.origens.length; i++) {
+            automato.getFuncaoTransicao().adicionarTransicao(transicoes.origens[i],
+                transicoes.simbolos[i], transicoes.destinos[i]);
+        }
+        automato.setEstadoInicial(Modelos.nome(0));
+        return automato.compilar();
+    }
+
+}
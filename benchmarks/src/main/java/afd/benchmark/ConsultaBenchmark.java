@@ -0,0 +1,172 @@
+package afd.benchmark;
+
+import afd.alfabeto.Alfabeto;
+import afd.alfabeto.Simbolo;
+import afd.automato.Automato;
+import afd.estados.Estado;
+import afd.estados.Estados;
+import afd.ftransicao.FuncaoTransicao;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Consultas pontuais às estruturas de edição do autômato: índice de um símbolo
+ * no {@link Alfabeto}, estado pelo nome em {@link Estados} e transição pela
+ * {@link FuncaoTransicao}, como feitas pela interface gráfica.<p>
+ * Cada chamada faz {@link #CONSULTAS} consultas sorteadas, algumas a elementos
+ * inexistentes, e o resultado é dado por consulta. Cada estrutura é montada
+ * separadamente, com os seus próprios parâmetros, de modo que só a estrutura
+ * consultada é construída.
+ * @author Leandro
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConsultaBenchmark {
+
+    /**Número de consultas por chamada.*/
+    public static final int CONSULTAS = 1024;
+
+    /**
+     * Alfabeto consultado.
+     */
+    @State(Scope.Benchmark)
+    public static class Simbolos {
+
+        /**Número de símbolos do alfabeto.*/
+        @Param({"2", "16", "256"})
+        public int simbolos;
+
+        /**Alfabeto consultado.*/
+        Alfabeto alfabeto;
+        /**Símbolos consultados, parte deles fora do alfabeto.*/
+        Character[] consultas;
+
+        @Setup
+        public void preparar() {
+            alfabeto = new Alfabeto();
+            for (char simbolo : Modelos.simbolos(simbolos)) {
+                alfabeto.inserir(new Simbolo(simbolo));
+            }
+            SplittableRandom aleatorio = new SplittableRandom(Modelos.SEMENTE);
+            consultas = new Character[CONSULTAS];
+            for (int i = 0; i < CONSULTAS; i++) {
+                consultas[i] = (char) (Modelos.PRIMEIRO_SIMBOLO + aleatorio.nextInt(simbolos + simbolos / 8 + 1));
+            }
+        }
+
+    }
+
+    /**
+     * Conjunto dos estados consultado.
+     */
+    @State(Scope.Benchmark)
+    public static class Nomes {
+
+        /**Número de estados do conjunto.*/
+        @Param({"10", "1000", "10000"})
+        public int estados;
+
+        /**Conjunto dos estados consultado.*/
+        Estados conjunto;
+        /**Nomes consultados, parte deles fora do conjunto.*/
+        String[] consultas;
+
+        @Setup
+        public void preparar() throws Exception {
+            conjunto = new Estados();
+            for (int q = 0; q < estados; q++) {
+                conjunto.inserir(new Estado(Modelos.nome(q)));
+            }
+            SplittableRandom aleatorio = new SplittableRandom(Modelos.SEMENTE);
+            consultas = new String[CONSULTAS];
+            for (int i = 0; i < CONSULTAS; i++) {
+                consultas[i] = Modelos.nome(aleatorio.nextInt(estados + estados / 8 + 1));
+            }
+        }
+
+    }
+
+    /**
+     * Função de transição consultada, montada pela API de edição.
+     */
+    @State(Scope.Benchmark)
+    public static class Transicoes {
+
+        /**Número de estados do autômato.*/
+        @Param({"10", "100", "1000"})
+        public int estadosFuncao;
+        /**Número de símbolos do alfabeto.*/
+        @Param({"2", "16"})
+        public int simbolosFuncao;
+
+        /**Função de transição consultada.*/
+        FuncaoTransicao funcao;
+        /**Nomes dos estados de origem consultados.*/
+        String[] origens;
+        /**Símbolos consultados.*/
+        Character[] simbolos;
+
+        @Setup
+        public void preparar() throws Exception {
+            Automato automato = Modelos.automato(estadosFuncao, simbolosFuncao, Modelos.SEMENTE);
+            funcao = automato.getFuncaoTransicao();
+            SplittableRandom aleatorio = new SplittableRandom(Modelos.SEMENTE);
+            origens = new String[CONSULTAS];
+            simbolos = new Character[CONSULTAS];
+            for (int i = 0; i < CONSULTAS; i++) {
+                origens[i] = Modelos.nome(aleatorio.nextInt(estadosFuncao));
+                simbolos[i] = (char) (Modelos.PRIMEIRO_SIMBOLO + aleatorio.nextInt(simbolosFuncao));
+            }
+        }
+
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONSULTAS)
+    public void indiceDeSimbolo(Simbolos estado, Blackhole resultado) {
+        for (Character simbolo : estado.consultas) {
+            resultado.consume(estado.alfabeto.indiceDe(simbolo));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONSULTAS)
+    public void indiceDeEstado(Nomes estado, Blackhole resultado) {
+        for (String nome : estado.consultas) {
+            resultado.consume(estado.conjunto.indiceDe(nome));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONSULTAS)
+    public void getEstado(Nomes estado, Blackhole resultado) {
+        for (String nome : estado.consultas) {
+            resultado.consume(estado.conjunto.getEstado(nome));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONSULTAS)
+    public void getTransicao(Transicoes estado, Blackhole resultado) {
+        for (int i = 0; i < CONSULTAS; i++) {
+            resultado.consume(estado.funcao.getTransicao(estado.origens[i], estado.simbolos[i]));
+        }
+    }
+
+}
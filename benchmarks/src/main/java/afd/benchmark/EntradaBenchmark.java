@@ -0,0 +1,114 @@
+package afd.benchmark;
+
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.automato.ResultadoProcessamento;
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Processamento de uma palavra pelo autômato compilado conforme a origem da
+ * entrada: Fita de Entrada em memória, arquivo carregado para uma Fita de
+ * Entrada, arquivo mapeado em memória e leitura contínua de um leitor, de um
+ * fluxo de bytes e de um canal de arquivo.<p>
+ * As entradas de bytes são lidas em ISO-8859-1 (Latin-1), por isso os alfabetos
+ * vão só até 16 símbolos, todos representáveis em um byte. O arquivo é gravado
+ * uma única vez, num diretório temporário, e removido ao final; as medições
+ * sobre ele incluem o custo do sistema de arquivos, normalmente já em cache.
+ * Todos os métodos leem a entrada inteira.
+ * @see AceitacaoBenchmark
+ * @author Leandro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EntradaBenchmark {
+
+    /**Número de estados do autômato.*/
+    @Param({"10", "1000", "100000"})
+    public int estados;
+    /**Número de símbolos do alfabeto.*/
+    @Param({"2", "16"})
+    public int simbolos;
+    /**Tamanho da palavra.*/
+    @Param({"100000", "10000000"})
+    public int comprimento;
+
+    /**Autômato verificado.*/
+    private AutomatoCompilado automato;
+    /**Palavra verificada.*/
+    private FitaEntrada palavra;
+    /**Palavra verificada, em bytes (Latin-1).*/
+    private byte[] bytes;
+    /**Arquivo com a palavra.*/
+    private Path arquivo;
+
+    @Setup
+    public void preparar() throws IOException {
+        automato = Modelos.compilado(estados, simbolos, Modelos.SEMENTE);
+        palavra = Modelos.palavra(simbolos, comprimento, Modelos.SEMENTE);
+        bytes = new String(palavra.getCadeia()).getBytes(StandardCharsets.ISO_8859_1);
+        arquivo = Files.createTempFile("afd-entrada", ".txt");
+        Files.write(arquivo, bytes);
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento fita() {
+        return automato.processar(palavra);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento arquivoCarregado() throws IOException {
+        String conteudo = new String(Files.readAllBytes(arquivo), StandardCharsets.ISO_8859_1);
+        return automato.processar(new FitaEntrada(conteudo.toCharArray()));
+    }
+
+    @Benchmark
+    public ResultadoProcessamento arquivoMapeado() throws IOException {
+        return automato.processar(arquivo);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento leitor() throws IOException {
+        return automato.processar(new CharArrayReader(palavra.getCadeia()));
+    }
+
+    @Benchmark
+    public ResultadoProcessamento fluxo() throws IOException {
+        return automato.processar(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public ResultadoProcessamento canalArquivo() throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo)) {
+            return automato.processar(canal);
+        }
+    }
+
+}
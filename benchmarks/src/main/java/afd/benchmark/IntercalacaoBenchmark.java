@@ -0,0 +1,78 @@
+package afd.benchmark;
+
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verificação de um lote de palavras numa única thread: palavra por palavra,
+ * num laço simples, e de forma intercalada, com
+ * {@link AutomatoCompilado#aceitaTodasSequencial(FitaEntrada[])}, separando o
+ * ganho da intercalação do ganho da divisão entre processadores, medidos juntos
+ * em {@link MotoresBenchmark}.<p>
+ * A intercalação só é usada para tabelas de transição maiores que a memória
+ * cache (a partir de cerca de 1 MB); nos autômatos menores, as duas formas
+ * executam o mesmo laço, o que permite conferir esse limite. O lote é montado
+ * como em {@link MotoresBenchmark}.
+ * @author Leandro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class IntercalacaoBenchmark {
+
+    /**Número de estados do autômato.*/
+    @Param({"1000", "10000", "100000"})
+    public int estados;
+    /**Número de símbolos do alfabeto.*/
+    @Param({"16", "256"})
+    public int simbolos;
+    /**Tamanho médio das palavras do lote.*/
+    @Param({"10", "1000"})
+    public int comprimento;
+
+    /**Autômato verificado.*/
+    private AutomatoCompilado automato;
+    /**Lote de palavras.*/
+    private FitaEntrada[] lote;
+
+    @Setup
+    public void preparar() {
+        automato = Modelos.compilado(estados, simbolos, Modelos.SEMENTE);
+        lote = new FitaEntrada[Math.max(1, MotoresBenchmark.SIMBOLOS_LOTE / comprimento)];
+        SplittableRandom tamanhos = new SplittableRandom(Modelos.SEMENTE);
+        for (int i = 0; i < lote.length; i++) {
+            lote[i] = Modelos.palavra(simbolos, tamanhos.nextInt(2 * comprimento + 1), Modelos.SEMENTE + i);
+        }
+    }
+
+    @Benchmark
+    public boolean[] individual() {
+        boolean[] aceitas = new boolean[lote.length];
+        for (int i = 0; i < lote.length; i++) {
+            aceitas[i] = automato.aceita(lote[i]);
+        }
+        return aceitas;
+    }
+
+    @Benchmark
+    public boolean[] intercalada() {
+        return automato.aceitaTodasSequencial(lote);
+    }
+
+}
@@ -0,0 +1,74 @@
+package afd.benchmark;
+
+import afd.automato.Automato;
+import afd.automato.FitaEntrada;
+import afd.automato.NivelRastreamento;
+import afd.automato.ResultadoProcessamento;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Verificação de uma palavra pelo {@link Automato}, como feita pela interface
+ * gráfica, em cada nível de rastreamento do histórico.<p>
+ * O autômato é montado pela API de edição, e as tabelas vão só até mil estados
+ * e 16 símbolos, pois o histórico completo cresce com a palavra e com o número
+ * de estados. O processamento em si usa a mesma tabela compilada do
+ * {@link AceitacaoBenchmark}, que cobre as tabelas maiores.<p>
+ * A taxa de alocação, que depende do nível de rastreamento, é obtida com o
+ * profiler de coleta de lixo do JMH (<i>-prof gc</i>).
+ * @author Leandro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class InterpretadorBenchmark {
+
+    /**Número de estados do autômato.*/
+    @Param({"10", "100", "1000"})
+    public int estados;
+    /**Número de símbolos do alfabeto.*/
+    @Param({"2", "16"})
+    public int simbolos;
+    /**Tamanho da palavra.*/
+    @Param({"10", "1000", "100000"})
+    public int comprimento;
+    /**Nível de rastreamento do histórico.*/
+    @Param({"DESLIGADO", "COMPACTO", "COMPLETO"})
+    public NivelRastreamento nivel;
+
+    /**Autômato verificado.*/
+    private Automato automato;
+    /**Palavra verificada.*/
+    private FitaEntrada palavra;
+
+    @Setup
+    public void preparar() throws Exception {
+        automato = Modelos.automato(estados, simbolos, Modelos.SEMENTE);
+        automato.setNivelRastreamento(nivel);
+        palavra = Modelos.palavra(simbolos, comprimento, Modelos.SEMENTE);
+    }
+
+    @Benchmark
+    public boolean aceita() throws Exception {
+        return automato.aceita(palavra);
+    }
+
+    @Benchmark
+    public ResultadoProcessamento processar() throws Exception {
+        return automato.processar(palavra);
+    }
+
+}
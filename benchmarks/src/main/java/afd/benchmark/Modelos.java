@@ -0,0 +1,154 @@
+package afd.benchmark;
+
+import afd.alfabeto.Simbolo;
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.estados.Estado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Autômatos e palavras usados pelos benchmarks, gerados de modo aleatório a
+ * partir de uma semente fixa, para que as medições sejam comparáveis entre
+ * execuções.<p>
+ * O autômato de <i>n</i> estados e <i>k</i> símbolos tem a função de transição
+ * totalmente definida, com destinos sorteados de modo uniforme, e cerca de
+ * metade dos estados terminais; o estado inicial é <i>q0</i>. Os símbolos são
+ * os <i>k</i> caracteres a partir de {@link #PRIMEIRO_SIMBOLO}. A forma montada
+ * pela API ({@link #automato(int, int, long)}) e a forma compilada diretamente
+ * ({@link #compilado(int, int, long)}) descrevem o mesmo autômato para a mesma
+ * semente.
+ * @author Leandro
+ */
+final class Modelos {
+
+    /**Primeiro caractere do alfabeto dos autômatos gerados.*/
+    static final char PRIMEIRO_SIMBOLO = '!';
+    /**Semente padrão dos benchmarks.*/
+    static final long SEMENTE = 20090401L;
+
+    private Modelos() {
+    }
+
+    /**
+     * Símbolos do alfabeto, em ordem crescente.
+     * @param simbolos número de símbolos.
+     * @return Caracteres dos símbolos.
+     */
+    static char[] simbolos(int simbolos) {
+        char[] alfabeto = new char[simbolos];
+        for (int s = 0; s < simbolos; s++) {
+            alfabeto[s] = (char) (PRIMEIRO_SIMBOLO + s);
+        }
+        return alfabeto;
+    }
+
+    /**
+     * Nome do estado de um índice.
+     * @param indice índice do estado.
+     * @return Nome do estado.
+     */
+    static String nome(int indice) {
+        return "q" + indice;
+    }
+
+    /**
+     * Sorteia a tabela de transição, na disposição de {@link TabelaTransicao}.
+     * @param estados número de estados.
+     * @param simbolos número de símbolos.
+     * @param semente semente do sorteio.
+     * @return Destinos das transições.
+     */
+    static int[] destinos(int estados, int simbolos, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        int[] destinos = new int[Math.multiplyExact(estados, simbolos)];
+        for (int i = 0; i < destinos.length; i++) {
+            destinos[i] = aleatorio.nextInt(estados);
+        }
+        return destinos;
+    }
+
+    /**
+     * Sorteia os estados terminais.
+     * @param estados número de estados.
+     * @param semente semente do sorteio.
+     * @return Conjunto dos índices dos estados terminais.
+     */
+    static BitSet terminais(int estados, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(~semente);
+        BitSet terminais = new BitSet(estados);
+        for (int q = 0; q < estados; q++) {
+            if (aleatorio.nextBoolean()) {
+                terminais.set(q);
+            }
+        }
+        return terminais;
+    }
+
+    /**
+     * Gera o autômato já na forma compilada, sem passar pela API de edição, o
+     * que permite tabelas de qualquer tamanho.
+     * @param estados número de estados.
+     * @param simbolos número de símbolos.
+     * @param semente semente do sorteio.
+     * @return Autômato compilado.
+     */
+    static AutomatoCompilado compilado(int estados, int simbolos, long semente) {
+        BitSet terminais = terminais(estados, semente);
+        Estado[] _estados = new Estado[estados];
+        for (int q = 0; q < estados; q++) {
+            _estados[q] = new Estado(nome(q), terminais.get(q));
+        }
+        TabelaTransicao tabela = new TabelaTransicao(_estados, simbolos(simbolos),
+            destinos(estados, simbolos, semente));
+        return new AutomatoCompilado(tabela, 0, terminais);
+    }
+
+    /**
+     * Monta o autômato pela API de edição, como a interface gráfica o faz.
+     * @param estados número de estados.
+     * @param simbolos número de símbolos.
+     * @param semente semente do sorteio.
+     * @return Autômato.
+     * @throws Exception Caso algum estado seja recusado.
+     */
+    static Automato automato(int estados, int simbolos, long semente) throws Exception {
+        Automato automato = new Automato();
+        char[] alfabeto = simbolos(simbolos);
+        for (char simbolo : alfabeto) {
+            automato.getAlfabeto().inserir(new Simbolo(simbolo));
+        }
+        BitSet terminais = terminais(estados, semente);
+        for (int q = 0; q < estados; q++) {
+            automato.getEstados().inserir(new Estado(nome(q), terminais.get(q)));
+        }
+        int[] destinos = destinos(estados, simbolos, semente);
+        for (int q = 0; q < estados; q++) {
+            for (int s = 0; s < simbolos; s++) {
+                automato.getFuncaoTransicao().adicionarTransicao(nome(q), alfabeto[s],
+                    nome(destinos[q * simbolos + s]));
+            }
+        }
+        automato.setEstadoInicial(nome(0));
+        return automato;
+    }
+
+    /**
+     * Sorteia uma palavra sobre o alfabeto.
+     * @param simbolos número de símbolos do alfabeto.
+     * @param comprimento tamanho da palavra.
+     * @param semente semente do sorteio.
+     * @return Fita com a palavra.
+     */
+    static FitaEntrada palavra(int simbolos, int comprimento, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        char[] cadeia = new char[comprimento];
+        for (int i = 0; i < comprimento; i++) {
+            cadeia[i] = (char) (PRIMEIRO_SIMBOLO + aleatorio.nextInt(simbolos));
+        }
+        return new FitaEntrada(cadeia);
+    }
+
+}
@@ -0,0 +1,100 @@
+package afd.benchmark;
+
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.busca.Busca;
+import afd.busca.ModoBusca;
+import afd.lexico.AnalisadorLexico;
+import afd.lexico.BufferTokens;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Processamentos sobre o autômato compilado além da verificação de uma única
+ * palavra: verificação de um lote de palavras, busca em texto e análise léxica.<p>
+ * O lote tem cerca de {@link #SIMBOLOS_LOTE} símbolos, em palavras de tamanhos
+ * sorteados até o dobro de <i>comprimento</i>; a busca e a análise léxica
+ * percorrem um texto de <i>comprimento</i> símbolos. A análise léxica usa o
+ * próprio autômato como única definição de token, pois o produto de autômatos
+ * aleatórios grandes cresce com o produto dos números de estados.
+ * @see AceitacaoBenchmark
+ * @see IntercalacaoBenchmark
+ * @see EntradaBenchmark
+ * @author Leandro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MotoresBenchmark {
+
+    /**Número aproximado de símbolos do lote.*/
+    public static final int SIMBOLOS_LOTE = 1 << 22;
+
+    /**Número de estados do autômato.*/
+    @Param({"10", "1000", "100000"})
+    public int estados;
+    /**Número de símbolos do alfabeto.*/
+    @Param({"2", "16", "256"})
+    public int simbolos;
+    /**Tamanho médio das palavras do lote e tamanho do texto.*/
+    @Param({"10", "1000", "100000"})
+    public int comprimento;
+
+    /**Autômato verificado.*/
+    private AutomatoCompilado automato;
+    /**Lote de palavras.*/
+    private FitaEntrada[] lote;
+    /**Texto da busca e da análise léxica.*/
+    private String texto;
+    /**Busca no texto.*/
+    private Busca busca;
+    /**Analisador léxico.*/
+    private AnalisadorLexico analisador;
+    /**Tokens da análise léxica, reaproveitados entre as chamadas.*/
+    private BufferTokens tokens;
+
+    @Setup
+    public void preparar() {
+        automato = Modelos.compilado(estados, simbolos, Modelos.SEMENTE);
+        lote = new FitaEntrada[Math.max(1, SIMBOLOS_LOTE / comprimento)];
+        SplittableRandom tamanhos = new SplittableRandom(Modelos.SEMENTE);
+        for (int i = 0; i < lote.length; i++) {
+            lote[i] = Modelos.palavra(simbolos, tamanhos.nextInt(2 * comprimento + 1), Modelos.SEMENTE + i);
+        }
+        texto = new String(Modelos.palavra(simbolos, comprimento, Modelos.SEMENTE).getCadeia());
+        busca = new Busca(automato, ModoBusca.MAIS_LONGA_A_ESQUERDA);
+        analisador = new AnalisadorLexico(automato);
+        tokens = new BufferTokens();
+    }
+
+    @Benchmark
+    public boolean[] aceitaTodas() {
+        return automato.aceitaTodas(lote);
+    }
+
+    @Benchmark
+    public int[] buscar() {
+        return busca.buscar(texto);
+    }
+
+    @Benchmark
+    public BufferTokens analisar() {
+        analisador.analisar(texto, tokens);
+        return tokens;
+    }
+
+}
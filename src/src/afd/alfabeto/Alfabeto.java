@@ -1,26 +1,41 @@
 package afd.alfabeto;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * Define o <b>Alfabeto</b> (∑) da gramática. O Alfabeto é um conjunto finito 
+ * Define o <b>Alfabeto</b> (∑) da gramática. O Alfabeto é um conjunto finito
  * de símbolos.<br>
- * Um símbolo, é um caracter qualquer do teclado, como a,b,c,1,@, por exemplo.
+ * Um símbolo, é um caracter qualquer do teclado, como a,b,c,1,@, por exemplo.<p>
+ * Os símbolos são guardados como um conjunto de bits indexado pelo caractere,
+ * de modo que a inserção, a remoção e a verificação de pertinência são feitas
+ * em tempo constante. O índice de um símbolo é a sua posição na ordem crescente
+ * dos caracteres, obtida pela contagem dos bits anteriores, com o auxílio de
+ * contagens acumuladas por palavra de bits, refeitas sob demanda após as
+ * alterações.
  * @see Simbolo
  * @author Leandro
  */
 public class Alfabeto {
 
-    /**Conjunto de símbolos.*/
-    private final ArrayList<Simbolo> simbolos;
+    /**Presença de cada caractere no alfabeto, um bit por caractere.*/
+    private long[] presentes;
+    /**Número de símbolos do alfabeto.*/
+    private int dimensao;
+    /**Número de símbolos anteriores a cada palavra de {@link #presentes}, ou
+     <b>null</b>, caso deva ser refeito.*/
+    private int[] anteriores;
+    /**Caracteres dos símbolos, em ordem crescente, refeitos com as contagens.*/
+    private char[] caracteres;
+    /**Objetos dos símbolos, criados sob demanda, na ordem dos caracteres.*/
+    private Simbolo[] simbolos;
+    /**Número de alterações realizadas no alfabeto.*/
+    private int versao;
 
     /**
      * Cria uma instância do Alfabeto
      */
     public Alfabeto() {
-        simbolos = new ArrayList<>();
+        presentes = new long[0];
     }
 
     /**
@@ -29,14 +44,31 @@ public class Alfabeto {
      * @return Índice do símbolo no alfabeto.
      */
     public int indiceDe(Character simbolo) {
-        int indice = -1;
-        for (int idx = 0; idx < simbolos.size(); idx++) {
-            Simbolo s = simbolos.get(idx);
-            if (s.asCharacter().equals(simbolo)) {
-                indice = idx;
-            }
+        return (simbolo != null ? indiceDe(simbolo.charValue()) : -1);
+    }
+
+    /**
+     * Recupera o índice de um caractere no alfabeto.
+     * @param simbolo caractere a ser obtido o índice.
+     * @return Índice do símbolo no alfabeto, ou -1, caso não pertença a ele.
+     */
+    public int indiceDe(char simbolo) {
+        if (!contem(simbolo)) {
+            return -1;
         }
-        return indice;
+        indexar();
+        int palavra = simbolo >>> 6;
+        return anteriores[palavra] + Long.bitCount(presentes[palavra] & ((1L << simbolo) - 1));
+    }
+
+    /**
+     * Verifica se um caractere pertence ao alfabeto.
+     * @param simbolo caractere.
+     * @return <b>true</b>, caso o caractere seja um símbolo do alfabeto.
+     */
+    public boolean contem(char simbolo) {
+        int palavra = simbolo >>> 6;
+        return palavra < presentes.length && (presentes[palavra] & (1L << simbolo)) != 0;
     }
 
     /**
@@ -47,9 +79,23 @@ public class Alfabeto {
      * @param simbolo símbolo a ser inserido.
      */
     public void inserir(Simbolo simbolo) {
-        if (indiceDe(simbolo.asCharacter()) < 0) {
-            simbolos.add(simbolo);
-            Collections.sort((List)simbolos);
+        if (incluir(simbolo.asCharacter())) {
+            alterado();
+        }
+    }
+
+    /**
+     * Insere vários símbolos no alfabeto de uma só vez, como uma única
+     * alteração. Os caracteres que já pertencem ao alfabeto são ignorados.
+     * @param simbolos caracteres dos símbolos a serem inseridos.
+     */
+    public void inserirTodos(char... simbolos) {
+        boolean alterou = false;
+        for (char simbolo : simbolos) {
+            alterou |= incluir(simbolo);
+        }
+        if (alterou) {
+            alterado();
         }
     }
 
@@ -60,12 +106,13 @@ public class Alfabeto {
      * o símbolo não tenha sido encontrado no alfabeto.
      */
     public boolean remover(Character simbolo) {
-        int indice = indiceDe(simbolo);
-        if (indice >= 0) {
-            simbolos.remove(indice);
+        if (simbolo != null && contem(simbolo)) {
+            presentes[simbolo >>> 6] &= ~(1L << simbolo);
+            dimensao--;
+            alterado();
             return true;
         }
-        return false;       
+        return false;
     }
 
     /**
@@ -73,7 +120,7 @@ public class Alfabeto {
      * @return Número de símbolos do alfabeto.
      */
     public int dimensao() {
-        return simbolos.size();
+        return dimensao;
     }
 
     /**
@@ -83,7 +130,22 @@ public class Alfabeto {
      * localizado.
      */
     public Simbolo simboloEm(int indice) {
-        return simbolos.get(indice);
+        indexar();
+        if (simbolos[indice] == null) {
+            simbolos[indice] = new Simbolo(caracteres[indice]);
+        }
+        return simbolos[indice];
+    }
+
+    /**
+     * Retorna o caractere do símbolo numa posição específica do alfabeto, sem
+     * criar o objeto do símbolo.
+     * @param indice índice do símbolo no alfabeto.
+     * @return Caractere do símbolo.
+     */
+    public char caractereEm(int indice) {
+        indexar();
+        return caracteres[indice];
     }
 
     /**
@@ -100,7 +162,65 @@ public class Alfabeto {
      * Remove todos os símbolos do alfabeto.
      */
     public void limpar(){
-        simbolos.clear();
+        presentes = new long[0];
+        dimensao = 0;
+        alterado();
+    }
+
+    /**
+     * Retorna o número de alterações (inserções e remoções) já realizadas no
+     * alfabeto. Permite detectar se o alfabeto foi alterado desde uma consulta
+     * anterior.
+     * @return Versão do alfabeto.
+     */
+    public int getVersao() {
+        return versao;
+    }
+
+    /**
+     * Marca a presença de um caractere, sem registrar a alteração.
+     * @param simbolo caractere.
+     * @return <b>true</b>, caso o caractere ainda não pertencesse ao alfabeto.
+     */
+    private boolean incluir(char simbolo) {
+        if (contem(simbolo)) {
+            return false;
+        }
+        int palavra = simbolo >>> 6;
+        if (palavra >= presentes.length) {
+            presentes = Arrays.copyOf(presentes, palavra + 1);
+        }
+        presentes[palavra] |= 1L << simbolo;
+        dimensao++;
+        return true;
+    }
+
+    /**
+     * Registra uma alteração no alfabeto, descartando as contagens.
+     */
+    private void alterado() {
+        versao++;
+        anteriores = null;
+    }
+
+    /**
+     * Refaz as contagens acumuladas e a ordem dos caracteres, caso o alfabeto
+     * tenha sido alterado desde a última vez.
+     */
+    private void indexar() {
+        if (anteriores == null) {
+            int[] _anteriores = new int[presentes.length];
+            caracteres = new char[dimensao];
+            simbolos = new Simbolo[dimensao];
+            int n = 0;
+            for (int palavra = 0; palavra < presentes.length; palavra++) {
+                _anteriores[palavra] = n;
+                for (long bits = presentes[palavra]; bits != 0; bits &= bits - 1) {
+                    caracteres[n++] = (char) ((palavra << 6) | Long.numberOfTrailingZeros(bits));
+                }
+            }
+            anteriores = _anteriores;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package afd.automato;
+
+import afd.ftransicao.TabelaTransicao;
+
+/**
+ * Verificação intercalada de várias palavras.<br>
+ * No processamento de uma única palavra, cada passo depende da leitura da tabela
+ * de transição feita no passo anterior, de modo que o processador permanece
+ * ocioso enquanto aguarda cada leitura da memória. Aqui, um conjunto de
+ * {@link #VIAS} palavras independentes é processado ao mesmo tempo, um símbolo
+ * de cada palavra por vez, e as leituras das diferentes palavras podem ser
+ * executadas simultaneamente pelo processador.<p>
+ * As palavras avançam em rodadas com o número de símbolos que falta à palavra
+ * mais próxima do fim. Ao fim de cada rodada, as palavras concluídas, ou cujo
+ * veredito já está definido, são substituídas pelas seguintes do lote.<p>
+ * O ganho só existe quando a tabela de transição não cabe na memória cache do
+ * processador; para tabelas menores, o controle das vias custa mais que a espera
+ * pelas leituras, e as palavras são verificadas uma de cada vez.
+ * @see AceitacaoParalela
+ * @author Leandro
+ */
+class AceitacaoIntercalada {
+
+    /**Número de palavras processadas simultaneamente.*/
+    static final int VIAS = 8;
+    /**Número mínimo de posições da tabela de transição (1 MB) para intercalar.*/
+    static final long DIMENSAO_MINIMA_TABELA = 1 << 18;
+
+    /**
+     * Verifica um trecho de um lote de palavras, registrando o resultado em um
+     * vetor de bits ou em um vetor de booleanos.
+     * @param automato autômato que verifica as palavras.
+     * @param palavras palavras do lote.
+     * @param inicio primeira palavra do trecho.
+     * @param fim posição seguinte à última palavra do trecho.
+     * @param bits vetor de bits que recebe o resultado, ou <b>null</b>.
+     * @param aceitas vetor de booleanos que recebe o resultado, ou <b>null</b>.
+     */
+    static void verificar(AutomatoCompilado automato, FitaEntrada[] palavras,
+    int inicio, int fim, long[] bits, boolean[] aceitas) {
+        TabelaTransicao tabela = automato.getTabela();
+        if ((long) tabela.dimensaoEstados() * tabela.dimensaoClasses() < DIMENSAO_MINIMA_TABELA) {
+            for (int i = inicio; i < fim; i++) {
+                if (automato.aceita(palavras[i])) {
+                    if (bits != null) {
+                        bits[i >>> 6] |= 1L << i;
+                    } else {
+                        aceitas[i] = true;
+                    }
+                }
+            }
+            return;
+        }
+        char[][] cadeias = new char[VIAS][];
+        int[] posicao = new int[VIAS];
+        int[] estado = new int[VIAS];
+        int[] palavra = new int[VIAS];
+        int ativas = 0;
+        int proxima = inicio;
+        while (ativas < VIAS && proxima < fim) {
+            palavra[ativas] = proxima;
+            cadeias[ativas] = palavras[proxima++].cadeia();
+            posicao[ativas] = 0;
+            estado[ativas++] = automato.getEstadoInicial();
+        }
+        while (ativas > 0) {
+            //Encerra as vias concluídas, substituindo-as pelas próximas palavras.
+            for (int via = 0; via < ativas; ) {
+                int e = estado[via];
+                if (posicao[via] < cadeias[via].length && e >= 0 && !automato.isDecidido(e)) {
+                    via++;
+                    continue;
+                }
+                int indice = palavra[via];
+                if (automato.isTerminal(e)) {
+                    if (bits != null) {
+                        bits[indice >>> 6] |= 1L << indice;
+                    } else {
+                        aceitas[indice] = true;
+                    }
+                }
+                if (proxima < fim) {
+                    palavra[via] = proxima;
+                    cadeias[via] = palavras[proxima++].cadeia();
+                    posicao[via] = 0;
+                    estado[via] = automato.getEstadoInicial();
+                } else {
+                    ativas--;
+                    palavra[via] = palavra[ativas];
+                    cadeias[via] = cadeias[ativas];
+                    posicao[via] = posicao[ativas];
+                    estado[via] = estado[ativas];
+                }
+            }
+            if (ativas == 0) {
+                break;
+            }
+            //Todas as vias ativas têm ao menos um símbolo a ser lido.
+            int passos = Integer.MAX_VALUE;
+            for (int via = 0; via < ativas; via++) {
+                passos = Math.min(passos, cadeias[via].length - posicao[via]);
+            }
+            for (int passo = 0; passo < passos; passo++) {
+                for (int via = 0; via < ativas; via++) {
+                    int e = estado[via];
+                    estado[via] = (e >= 0 ?
+                        tabela.transicao(e, cadeias[via][posicao[via] + passo]) :
+                        TabelaTransicao.INDEFINIDO);
+                }
+            }
+            for (int via = 0; via < ativas; via++) {
+                posicao[via] += passos;
+            }
+        }
+    }
+
+}
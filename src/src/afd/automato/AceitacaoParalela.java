@@ -0,0 +1,122 @@
+package afd.automato;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tarefa que verifica um lote de palavras dividindo o trabalho entre os
+ * processadores, pelo modelo <i>fork/join</i>.<br>
+ * O lote é dividido ao meio recursivamente, até que cada parte tenha no máximo
+ * a granularidade definida. As divisões ocorrem sempre em múltiplos de 64, de
+ * modo que cada parte escreva em palavras distintas do vetor de bits do
+ * resultado, sem necessidade de sincronização. Cada parte é verificada pelo
+ * processamento intercalado de {@link AceitacaoIntercalada}.
+ * @see AutomatoCompilado#aceitaTodas(java.util.List)
+ * @author Leandro
+ */
+@SuppressWarnings("serial")
+class AceitacaoParalela extends RecursiveAction {
+
+    /**Número mínimo de palavras de cada parte do lote.*/
+    private static final int GRANULARIDADE_MINIMA = 256;
+
+    /**Autômato que verifica as palavras.*/
+    private final AutomatoCompilado automato;
+    /**Palavras do lote.*/
+    private final FitaEntrada[] palavras;
+    /**Resultado em vetor de bits, ou <b>null</b>.*/
+    private final long[] bits;
+    /**Resultado em vetor de booleanos, ou <b>null</b>.*/
+    private final boolean[] aceitas;
+    /**Primeira palavra da parte.*/
+    private final int inicio;
+    /**Posição seguinte à última palavra da parte.*/
+    private final int fim;
+    /**Número máximo de palavras processadas sem nova divisão.*/
+    private final int granularidade;
+
+    /**
+     * Cria uma instância da classe.
+     * @param automato autômato que verifica as palavras.
+     * @param palavras palavras do lote.
+     * @param bits vetor de bits que recebe o resultado, ou <b>null</b>.
+     * @param aceitas vetor de booleanos que recebe o resultado, ou <b>null</b>.
+     * @param inicio primeira palavra da parte.
+     * @param fim posição seguinte à última palavra da parte.
+     * @param granularidade número máximo de palavras processadas sem nova divisão.
+     */
+    private AceitacaoParalela(AutomatoCompilado automato, FitaEntrada[] palavras,
+    long[] bits, boolean[] aceitas, int inicio, int fim, int granularidade) {
+        this.automato = automato;
+        this.palavras = palavras;
+        this.bits = bits;
+        this.aceitas = aceitas;
+        this.inicio = inicio;
+        this.fim = fim;
+        this.granularidade = granularidade;
+    }
+
+    /**
+     * Verifica todas as palavras, registrando o resultado em um vetor de bits.
+     * @param automato autômato que verifica as palavras.
+     * @param palavras palavras do lote.
+     * @return Vetor de bits, no formato de {@link java.util.BitSet#valueOf(long[])},
+     * onde o bit <i>i</i> indica se a palavra <i>i</i> foi aceita.
+     */
+    static long[] verificar(AutomatoCompilado automato, FitaEntrada[] palavras) {
+        long[] bits = new long[(palavras.length + 63) >>> 6];
+        executar(new AceitacaoParalela(automato, palavras, bits, null, 0,
+            palavras.length, granularidade(palavras.length)));
+        return bits;
+    }
+
+    /**
+     * Verifica todas as palavras, registrando o resultado em um vetor de booleanos.
+     * @param automato autômato que verifica as palavras.
+     * @param palavras palavras do lote.
+     * @param aceitas vetor que recebe o resultado na posição de cada palavra.
+     */
+    static void verificar(AutomatoCompilado automato, FitaEntrada[] palavras,
+    boolean[] aceitas) {
+        executar(new AceitacaoParalela(automato, palavras, null, aceitas, 0,
+            palavras.length, granularidade(palavras.length)));
+    }
+
+    /**
+     * Executa a tarefa no pool comum, ou diretamente, caso o lote seja pequeno.
+     * @param tarefa tarefa a ser executada.
+     */
+    private static void executar(AceitacaoParalela tarefa) {
+        if (tarefa.fim - tarefa.inicio <= tarefa.granularidade) {
+            tarefa.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(tarefa);
+        }
+    }
+
+    /**
+     * Calcula a granularidade de forma que cada processador receba várias
+     * partes, equilibrando lotes com palavras de tamanhos diferentes.
+     * @param dimensao número de palavras do lote.
+     * @return Granularidade, múltipla de 64.
+     */
+    private static int granularidade(int dimensao) {
+        int partes = ForkJoinPool.getCommonPoolParallelism() * 8;
+        int granularidade = Math.max(dimensao / partes, GRANULARIDADE_MINIMA);
+        return (granularidade + 63) & ~63;
+    }
+
+    @Override
+    protected void compute() {
+        int meio = ((inicio + fim) >>> 1) & ~63;
+        if (fim - inicio <= granularidade || meio <= inicio) {
+            AceitacaoIntercalada.verificar(automato, palavras, inicio, fim, bits, aceitas);
+        } else {
+            invokeAll(
+                new AceitacaoParalela(automato, palavras, bits, aceitas, inicio, meio, granularidade),
+                new AceitacaoParalela(automato, palavras, bits, aceitas, meio, fim, granularidade)
+            );
+        }
+    }
+
+}
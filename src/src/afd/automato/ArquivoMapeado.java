@@ -0,0 +1,118 @@
+package afd.automato;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo cujo conteúdo é lido diretamente da memória, pelo mapeamento feito
+ * com {@link FileChannel#map(FileChannel.MapMode, long, long)}, sem cópia para
+ * uma Fita de Entrada.<br>
+ * Como um único mapeamento é limitado a 2 GB, o arquivo é percorrido em janelas
+ * mapeadas sucessivamente, cada uma com no máximo o tamanho de janela definido.
+ * Cada byte do arquivo é interpretado como um símbolo do conjunto ISO-8859-1
+ * (Latin-1).
+ * @see AutomatoCompilado#processar(Path)
+ * @author Leandro
+ */
+public class ArquivoMapeado implements Closeable {
+
+    /**Tamanho padrão das janelas de mapeamento (1 GB).*/
+    public static final int TAMANHO_JANELA = 1 << 30;
+
+    /**Canal do arquivo.*/
+    private final FileChannel canal;
+    /**Tamanho do arquivo, em bytes.*/
+    private final long dimensao;
+    /**Tamanho máximo de cada janela de mapeamento.*/
+    private final int tamanhoJanela;
+
+    /**
+     * Abre o arquivo para leitura, com o tamanho padrão de janela.
+     * @param caminho caminho do arquivo.
+     * @throws IOException Caso o arquivo não possa ser aberto.
+     */
+    public ArquivoMapeado(Path caminho) throws IOException {
+        this(caminho, TAMANHO_JANELA);
+    }
+
+    /**
+     * Abre o arquivo para leitura.
+     * @param caminho caminho do arquivo.
+     * @param tamanhoJanela tamanho máximo, em bytes, de cada janela de mapeamento.
+     * @throws IOException Caso o arquivo não possa ser aberto.
+     */
+    public ArquivoMapeado(Path caminho, int tamanhoJanela) throws IOException {
+        if (tamanhoJanela <= 0) {
+            throw new IllegalArgumentException("Tamanho de janela inválido.");
+        }
+        this.canal = FileChannel.open(caminho, StandardOpenOption.READ);
+        this.dimensao = canal.size();
+        this.tamanhoJanela = tamanhoJanela;
+    }
+
+    /**
+     * Retorna o tamanho do arquivo.
+     * @return Tamanho do arquivo, em bytes.
+     */
+    public long dimensao() {
+        return dimensao;
+    }
+
+    /**
+     * Retorna o tamanho máximo de cada janela de mapeamento.
+     * @return Tamanho da janela, em bytes.
+     */
+    public int getTamanhoJanela() {
+        return tamanhoJanela;
+    }
+
+    /**
+     * Mapeia, somente para leitura, um trecho do arquivo.
+     * @param posicao posição do primeiro byte do trecho.
+     * @param tamanho número de bytes do trecho, limitado ao tamanho da janela.
+     * @return Trecho mapeado.
+     * @throws IOException Caso o trecho não possa ser mapeado.
+     */
+    public MappedByteBuffer mapear(long posicao, int tamanho) throws IOException {
+        if (tamanho > tamanhoJanela) {
+            throw new IllegalArgumentException("Trecho maior que a janela de mapeamento.");
+        }
+        return canal.map(FileChannel.MapMode.READ_ONLY, posicao, tamanho);
+    }
+
+    /**
+     * Processa um trecho do arquivo a partir de um estado, mapeando uma janela
+     * de cada vez.
+     * @param automato autômato que processa os símbolos.
+     * @param estado índice do estado de partida.
+     * @param inicio posição do primeiro byte a ser lido.
+     * @param fim posição seguinte ao último byte a ser lido.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link afd.ftransicao.TabelaTransicao#INDEFINIDO}, caso uma transição não
+     * esteja definida.
+     * @throws IOException Caso algum trecho não possa ser mapeado.
+     */
+    public int estadoFinal(AutomatoCompilado automato, int estado, long inicio,
+    long fim) throws IOException {
+        for (long posicao = inicio; posicao < fim && estado >= 0; posicao += tamanhoJanela) {
+            int tamanho = (int) Math.min(tamanhoJanela, fim - posicao);
+            estado = automato.estadoFinal(estado, mapear(posicao, tamanho), 0, tamanho);
+        }
+        return estado;
+    }
+
+    /**
+     * Fecha o canal do arquivo. As janelas já mapeadas permanecem válidas até
+     * serem descartadas.
+     * @throws IOException Caso ocorra um erro ao fechar o canal.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+}
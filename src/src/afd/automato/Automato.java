@@ -4,7 +4,12 @@ import afd.alfabeto.Alfabeto;
 import afd.estados.Estado;
 import afd.estados.Estados;
 import afd.ftransicao.FuncaoTransicao;
+import afd.ftransicao.TabelaTransicao;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * <h3 align=center>Definição de Autômato Finito Determinístico</h3><p>
@@ -76,6 +81,10 @@ public class Automato {
         private final char simboloLido;
         /**Parcela da fita de entrada ainda a ser lida.*/
         private final String parcela;
+        /**Fita de Entrada da qual a parcela é obtida, quando não informada.*/
+        private final FitaEntrada fita;
+        /**Primeira célula da parcela ainda a ser lida.*/
+        private final int inicioParcela;
         /**Indica se tudo ocorreu normalmente com a leitura da fita de entrada.*/
         private final boolean normal;
 
@@ -95,6 +104,29 @@ public class Automato {
             this.estadoDestino = estadoDestino;
             this.simboloLido = simboloLido;
             this.parcela = parcela;
+            this.fita = null;
+            this.inicioParcela = 0;
+            this.normal = normal;
+        }
+
+        /**
+         * Cria uma instância da classe, na qual a parcela restante da cadeia é
+         * obtida da Fita de Entrada somente quando solicitada.
+         * @param estadoOrigem estado atual do autômato, no momento da transição.
+         * @param simboloLido símbolo lido da fita de entrada.
+         * @param estadoDestino estado para o qual o autômato converge.
+         * @param fita Fita de Entrada processada.
+         * @param inicioParcela primeira célula da parcela ainda a ser lida.
+         * @param normal indica a leitura de um símbolo inválido.
+         */
+        Processamento(Estado estadoOrigem, char simboloLido,
+        Estado estadoDestino, FitaEntrada fita, int inicioParcela, boolean normal) {
+            this.estadoOrigem = estadoOrigem;
+            this.estadoDestino = estadoDestino;
+            this.simboloLido = simboloLido;
+            this.parcela = null;
+            this.fita = fita;
+            this.inicioParcela = inicioParcela;
             this.normal = normal;
         }
 
@@ -128,7 +160,7 @@ public class Automato {
          * @return Uma String, contendo o restante da cadeia a ser lida.
          */
         public String getParcela() {
-            return parcela;
+            return (parcela != null ? parcela : fita.parcela(inicioParcela));
         }
 
         /**
@@ -142,6 +174,74 @@ public class Automato {
 
     }
 
+    /**
+     * Histórico do processamento reconstruído a partir dos índices dos estados
+     * visitados, registrados no nível de rastreamento
+     * {@link NivelRastreamento#COMPACTO}.<br>
+     * Cada etapa do processamento é criada somente quando consultada. Os índices
+     * são copiados do rastro ao entregar o histórico, de modo que ele não é
+     * alterado pelos processamentos seguintes.
+     */
+    private class HistoricoCompacto extends AbstractList<Processamento> {
+
+        /**Tabela de transição usada no processamento.*/
+        private final TabelaTransicao tabela;
+        /**Fita de Entrada processada.*/
+        private final FitaEntrada fita;
+        /**Estado inicial do processamento.*/
+        private final Estado inicial;
+        /**Índices dos estados visitados, copiados do rastro.*/
+        private int[] visitados;
+
+        /**
+         * Cria uma instância da classe.
+         * @param tabela tabela de transição usada no processamento.
+         * @param fita Fita de Entrada processada.
+         * @param inicial estado inicial do processamento.
+         */
+        public HistoricoCompacto(TabelaTransicao tabela, FitaEntrada fita,
+        Estado inicial) {
+            this.tabela = tabela;
+            this.fita = fita;
+            this.inicial = inicial;
+        }
+
+        /**
+         * Copia os índices dos estados visitados do rastro, caso ainda não
+         * tenham sido copiados.
+         * @return O próprio histórico.
+         */
+        HistoricoCompacto fixar() {
+            if (visitados == null) {
+                visitados = rastro.toArray();
+            }
+            return this;
+        }
+
+        @Override
+        public Processamento get(int indice) {
+            if (indice < 0 || indice >= size()) {
+                throw new IndexOutOfBoundsException("Índice: " + indice + ", Dimensão: " + size());
+            }
+            int origem = visitados[indice];
+            int destino = visitados[indice + 1];
+            return new Processamento(
+                origem >= 0 ? tabela.estadoEm(origem) : inicial,
+                fita.getCelula(indice),
+                destino >= 0 ? tabela.estadoEm(destino) : null,
+                fita,
+                indice + 1,
+                destino >= 0
+            );
+        }
+
+        @Override
+        public int size() {
+            return Math.max(visitados.length - 1, 0);
+        }
+
+    }
+
     /**Alfabeto da gramática.*/
     private final Alfabeto alfabeto;
     /**Conjunto dos Estados da gramática.*/
@@ -152,8 +252,17 @@ public class Automato {
     private final FuncaoTransicao funcaoTransicao;
     /**Histórico do processamento da fita de entrada.*/
     private final ArrayList<Processamento> processamentoFita;
+    /**Índices dos estados visitados no processamento da fita de entrada.*/
+    private final VetorInteiros rastro;
+    /**Histórico exposto do último processamento, conforme o nível de rastreamento.*/
+    private List<Processamento> historico;
+    /**Nível de registro do histórico do processamento.*/
+    private NivelRastreamento nivelRastreamento;
     /**Fita de Entrada.*/
     private FitaEntrada fitaEntrada;
+    /**Última forma compilada do autômato, refeita quando a tabela de transição
+     ou o estado inicial mudam.*/
+    private AutomatoCompilado compilado;
 
     /**
      * Cria uma instância do Autômato.
@@ -164,6 +273,9 @@ public class Automato {
         estadoInicial = new Estado("");
         funcaoTransicao = new FuncaoTransicao(estados, alfabeto);
         processamentoFita = new ArrayList<>();
+        rastro = new VetorInteiros();
+        historico = processamentoFita;
+        nivelRastreamento = NivelRastreamento.COMPLETO;
     }
 
     /**
@@ -229,11 +341,35 @@ public class Automato {
     }
 
     /**
-     * Histórico do processamento da fita de entrada.
+     * Nível de registro do histórico do processamento da fita de entrada.
+     * @return Nível de rastreamento.
+     */
+    public NivelRastreamento getNivelRastreamento() {
+        return nivelRastreamento;
+    }
+
+    /**
+     * Define o quanto do processamento da fita de entrada será registrado nas
+     * próximas verificações de palavras. Por padrão, o histórico é registrado
+     * no nível {@link NivelRastreamento#COMPLETO}.
+     * @param nivelRastreamento nível de rastreamento.
+     */
+    public void setNivelRastreamento(NivelRastreamento nivelRastreamento) {
+        this.nivelRastreamento = nivelRastreamento;
+    }
+
+    /**
+     * Histórico do processamento da fita de entrada.<br>
+     * No nível de rastreamento {@link NivelRastreamento#COMPACTO}, as etapas do
+     * processamento são reconstruídas somente quando consultadas; no nível
+     * {@link NivelRastreamento#DESLIGADO}, o histórico é vazio.
      * @return Histórico do processamento da Fita de Entrada.
      */
-    public ArrayList<Processamento> processamentoFitaEntrada() {
-        return processamentoFita;
+    public List<Processamento> processamentoFitaEntrada() {
+        if (historico instanceof HistoricoCompacto) {
+            return ((HistoricoCompacto) historico).fixar();
+        }
+        return historico;
     }
 
     /**
@@ -242,59 +378,62 @@ public class Automato {
      * primeira célula à esquerda da Fita de Entrada.<br>
      * Com a leitura do símbolo da fita, o autômato passa para outro estado, com
      * base no definido na Função de Transição da gramática.<br>
-     * O novo estado e a próxima célula da Fita de Entrada são passados
-     * recursivamente para o método para iniciar novamente o processamento, assim
-     * até processar o último símbolo da Fita de Entrada.<br>
-     * Ao processar o último símbolo, retorna o Estado em que o Autômato convergiu.
-     * @param estadoOrigem estado em que o autômato se encontra antes da transição.
-     * @param celula Célula da Fita de Entrada a ser lida.
+     * O novo estado passa a ser o estado de origem para a leitura da próxima
+     * célula da Fita de Entrada, e assim sucessivamente, até processar o último
+     * símbolo da Fita de Entrada.<br>
+     * Cada etapa é registrada no histórico conforme o nível de rastreamento.
+     * @param tabela forma compilada da Função de Transição.
+     * @param nivel nível de rastreamento do processamento.
      * @return Estado em que o Autômato convergiu após processar o último símbolo
-     * da Fita de Entrada.
-     * @throws Exception Caso uma transição não esteja definida (símbolo indefinido).
+     * da Fita de Entrada, ou <b>null</b>, caso uma transição não esteja definida
+     * (símbolo indefinido).
      */
-    private Estado processarFitaEntrada(Estado estadoOrigem, int celula) throws Exception {
-        //Lê uma célula da Fita de Entrada.
-        Character simbolo = fitaEntrada.getCelula(celula - 1);
-        /* Obtém o estado para o qual o Autômato converge, com base no estado atual
-         * e o símbolo lido.*/
-        Estado estadoDestino = funcaoTransicao.getTransicao(
-            estadoOrigem.getNome(),
-            simbolo
-        );
-        /*Registra o processamento do símbolo, para posterior recuperação para
-         a construção da Função Programa Extendida.*/
-        processamentoFita.add(new Processamento(
-            estadoOrigem, //Estado antes da transicao.
-            simbolo, //Símbolo lido.
-            estadoDestino, //Estado após a transição.
-            new String(fitaEntrada.getCadeia()).substring(
-                celula,
-                fitaEntrada.dimensao()
-            ), //Parcela da Fita de Entrada ainda a ser lida.
-            estadoDestino != null //Algum erro ocorrido (Símbolo não definido).
-        ));
-        //Há uma transição definida...
-        if (estadoDestino != null) {
-            //Verifica se leu a última célula da Fita de Entrada.
-            if (celula < fitaEntrada.dimensao()) {
-                /* 
-                 * Se não terminou a leitura da fita de entrada,chama o método,
-                 * recursivamente, com base nos novos parâmetros de Estado de
-                 * Origem, que agora é o Estado para  o qual o autômato convergiu
-                 * e a célula na sequência.
-                 */
-                return processarFitaEntrada(estadoDestino, ++celula);
-            } else {
-                /*
-                 * Retorna o estado para o qual convergiu o autômato após a
-                 * leitura do último símbolo da fita de entrada.
-                 */
-                return estadoDestino;
+    private Estado processarFitaEntrada(TabelaTransicao tabela, NivelRastreamento nivel) {
+        int estadoOrigem = (estadoInicial != null ?
+            tabela.indiceEstado(estadoInicial.getNome()) : TabelaTransicao.INDEFINIDO);
+        if (nivel == NivelRastreamento.COMPACTO) {
+            rastro.adicionar(estadoOrigem);
+        }
+        /*
+         * Uma Fita sem nenhum símbolo é uma palavra vazia, e também é
+         * passível de verificação.
+         * Nesse caso, a verificação é feita pelo status de terminal do
+         * estado inicial.
+         */
+        if (fitaEntrada.dimensao() == 0) {
+            return estadoInicial;
+        }
+        for (int celula = 0; celula < fitaEntrada.dimensao(); celula++) {
+            //Lê uma célula da Fita de Entrada.
+            char simbolo = fitaEntrada.getCelula(celula);
+            /* Obtém o estado para o qual o Autômato converge, com base no estado
+             * atual e o símbolo lido.*/
+            int estadoDestino = (estadoOrigem >= 0 ?
+                tabela.transicao(estadoOrigem, simbolo) : TabelaTransicao.INDEFINIDO);
+            /*Registra o processamento do símbolo, para posterior recuperação para
+             a construção da Função Programa Extendida.*/
+            if (nivel == NivelRastreamento.COMPACTO) {
+                rastro.adicionar(estadoDestino);
+            } else if (nivel == NivelRastreamento.COMPLETO) {
+                processamentoFita.add(new Processamento(
+                    estadoOrigem >= 0 ? tabela.estadoEm(estadoOrigem) : estadoInicial, //Estado antes da transicao.
+                    simbolo, //Símbolo lido.
+                    estadoDestino >= 0 ? tabela.estadoEm(estadoDestino) : null, //Estado após a transição.
+                    fitaEntrada, celula + 1, //Parcela da Fita de Entrada ainda a ser lida.
+                    estadoDestino >= 0 //Algum erro ocorrido (Símbolo não definido).
+                ));
             }
-        } else {
-            //Há um símbolo indefinido...
-            throw new Exception("Transição não definida.");
+            if (estadoDestino < 0) {
+                //Há um símbolo indefinido...
+                return null;
+            }
+            estadoOrigem = estadoDestino;
         }
+        /*
+         * Retorna o estado para o qual convergiu o autômato após a leitura do
+         * último símbolo da fita de entrada.
+         */
+        return tabela.estadoEm(estadoOrigem);
     }
 
     /**
@@ -302,7 +441,13 @@ public class Automato {
      * gramática.<br>
      * Uma palavra aceita pela gramática, é toda aquela que leva o autômato a
      * um estado final, ou terminal, a partir de um estado inicial, após a leitura
-     * do último símbolo da Fita de Entrada (cadeia).
+     * do último símbolo da Fita de Entrada (cadeia).<br>
+     * O histórico do processamento é registrado conforme o nível de rastreamento
+     * definido em {@link #setNivelRastreamento(NivelRastreamento)}. No nível
+     * {@link NivelRastreamento#DESLIGADO}, a palavra é verificada pela forma
+     * compilada do autômato, e a leitura é interrompida assim que o autômato
+     * atinge um estado morto ou de aceitação garantida; nos demais níveis, a
+     * fita é lida até o fim, para o registro do histórico.
      * @param fita Fita de Entrada a ser analizada pelo autômato.
      * @return <b>true</b> se o estado pertencer ao conjunto dos terminais, ou
      * <b>false</b>, se não.
@@ -310,26 +455,124 @@ public class Automato {
      */
     public boolean aceita(FitaEntrada palavra) throws Exception {
         if (funcaoTransicao.totalmenteDefinida()) {
-            try {
-                fitaEntrada = palavra;
-                processamentoFita.clear();
-                Estado referencia = estadoInicial;
-                /*
-                 * Uma Fita sem nenhum símbolo é uma palavra vazia, e também é
-                 * passível de verificação.
-                 * Nesse caso, a verificação é feita pelo status de terminal do
-                 * estado inicial.
-                 */
-                if (fitaEntrada.dimensao() > 0){
-                    referencia = processarFitaEntrada(estadoInicial, 1);
-                }
-                return referencia.isTerminal();
-            } catch (Exception ex) {
-                return false;
+            fitaEntrada = palavra;
+            processamentoFita.clear();
+            rastro.limpar();
+            TabelaTransicao tabela = funcaoTransicao.compilar();
+            NivelRastreamento nivel = nivelRastreamento;
+            switch (nivel) {
+                case COMPACTO:
+                    historico = new HistoricoCompacto(tabela, palavra, estadoInicial);
+                    break;
+                case COMPLETO:
+                    historico = processamentoFita;
+                    break;
+                default:
+                    historico = Collections.emptyList();
+                    AutomatoCompilado forma = compilado(tabela);
+                    if (forma != null) {
+                        return forma.aceita(palavra);
+                    }
+            }
+            Estado referencia = processarFitaEntrada(tabela, nivel);
+            return referencia != null && referencia.isTerminal();
+        } else {
+            throw new Exception("Função de Transição ainda não totalmente definida.");
+        }
+    }
+
+    /**
+     * Processa a Fita de Entrada sem registrar o histórico do processamento.<br>
+     * A fita é lida em um laço simples, sem alocação de memória a cada símbolo,
+     * de modo que o tempo de processamento é linear e o consumo de memória é
+     * constante em relação ao tamanho da palavra. O histórico obtido por
+     * {@link #processamentoFitaEntrada()} não é alterado.
+     * @param palavra Fita de Entrada a ser analizada pelo autômato.
+     * @return Resultado do processamento: indicação de aceitação e o estado em
+     * que o autômato convergiu.
+     * @throws Exception Caso alguma transição ainda não tenha sido definida.
+     */
+    public ResultadoProcessamento processar(FitaEntrada palavra) throws Exception {
+        if (funcaoTransicao.totalmenteDefinida()) {
+            TabelaTransicao tabela = funcaoTransicao.compilar();
+            int estado = (estadoInicial != null ?
+                tabela.indiceEstado(estadoInicial.getNome()) : TabelaTransicao.INDEFINIDO);
+            for (int celula = 0; celula < palavra.dimensao() && estado >= 0; celula++) {
+                estado = tabela.transicao(estado, palavra.getCelula(celula));
+            }
+            Estado estadoFinal = (estado >= 0 ? tabela.estadoEm(estado) : null);
+            return new ResultadoProcessamento(
+                estadoFinal != null && estadoFinal.isTerminal(),
+                estadoFinal
+            );
+        } else {
+            throw new Exception("Função de Transição ainda não totalmente definida.");
+        }
+    }
+
+    /**
+     * Cria a forma compilada e imutável do autômato, com a tabela de transição,
+     * o estado inicial e o conjunto dos estados terminais no momento da chamada.<br>
+     * O objeto retornado pode ser compartilhado entre várias threads, que podem
+     * verificar palavras simultaneamente, pois não guarda informações sobre o
+     * processamento. Alterações posteriores neste autômato não o afetam.
+     * @return Autômato compilado.
+     * @throws Exception Caso alguma transição ainda não tenha sido definida, ou o
+     * estado inicial não pertença ao conjunto dos estados.
+     * @see AutomatoCompilado
+     */
+    public AutomatoCompilado compilar() throws Exception {
+        if (funcaoTransicao.totalmenteDefinida()) {
+            AutomatoCompilado forma = compilado(funcaoTransicao.compilar());
+            if (forma == null) {
+                throw new Exception("Estado inicial não definido.");
             }
+            return forma;
         } else {
             throw new Exception("Função de Transição ainda não totalmente definida.");
         }
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Obtém a forma compilada do autômato para uma tabela de transição,
+     * reaproveitando a anterior enquanto a tabela e o estado inicial forem os
+     * mesmos. Como a tabela é refeita a cada alteração dos estados (inclusive do
+     * tipo de um estado), do alfabeto ou das transições, a forma reaproveitada
+     * corresponde sempre ao autômato atual.
+     * @param tabela forma compilada atual da Função de Transição.
+     * @return Autômato compilado, ou <b>null</b>, caso o estado inicial não
+     * pertença à tabela.
+     */
+    private AutomatoCompilado compilado(TabelaTransicao tabela) {
+        int inicial = (estadoInicial != null ?
+            tabela.indiceEstado(estadoInicial.getNome()) : TabelaTransicao.INDEFINIDO);
+        if (inicial < 0) {
+            return null;
+        }
+        if (compilado == null || compilado.getTabela() != tabela ||
+            compilado.getEstadoInicial() != inicial) {
+            BitSet terminais = new BitSet(tabela.dimensaoEstados());
+            for (int i = 0; i < tabela.dimensaoEstados(); i++) {
+                if (tabela.isTerminal(i)) {
+                    terminais.set(i);
+                }
+            }
+            compilado = new AutomatoCompilado(tabela, inicial, terminais);
+        }
+        return compilado;
+    }
+
+    /**
+     * Verifica um lote de palavras, dividindo o trabalho entre os processadores
+     * disponíveis. O histórico do processamento não é registrado.
+     * @param palavras palavras a serem verificadas.
+     * @return Conjunto dos índices, na lista, das palavras aceitas.
+     * @throws Exception Caso alguma transição ainda não tenha sido definida, ou o
+     * estado inicial não pertença ao conjunto dos estados.
+     * @see AutomatoCompilado#aceitaTodas(List)
+     */
+    public BitSet aceitaTodas(List<FitaEntrada> palavras) throws Exception {
+        return compilar().aceitaTodas(palavras);
+    }
+
+}
@@ -0,0 +1,732 @@
+package afd.automato;
+
+import afd.ftransicao.TabelaTransicao;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Forma compilada e imutável de um {@link Automato}.<br>
+ * Reúne a tabela de transição compilada (que contém o mapeamento dos estados e
+ * dos símbolos do alfabeto para índices inteiros), o índice do estado inicial e
+ * o conjunto dos estados terminais, representado por um vetor de bits.<p>
+ * Como nenhuma informação do processamento é guardada na instância (o estado
+ * corrente e a posição na fita são variáveis locais de cada chamada), um mesmo
+ * objeto pode ser compartilhado por qualquer número de threads, sem
+ * sincronização. Alterações posteriores no autômato de origem não afetam o
+ * objeto compilado.<p>
+ * Na criação, são identificados os estados em que o veredito da palavra já está
+ * definido, qualquer que seja o restante da entrada: os estados <b>mortos</b>, a
+ * partir dos quais nenhum estado terminal é atingível, e os estados de
+ * <b>aceitação garantida</b>, a partir dos quais toda continuação é aceita. A
+ * verificação de aceitação ({@code aceita} e {@code aceitaTodas}) é
+ * interrompida assim que um desses estados é atingido, sem a leitura do
+ * restante da entrada. Os métodos {@code processar} leem sempre toda a entrada,
+ * de modo que o estado do resultado é aquele em que o autômato convergiu após
+ * o último símbolo.
+ * @see Automato#compilar()
+ * @see TabelaTransicao
+ * @author Leandro
+ */
+public final class AutomatoCompilado {
+
+    /**Tamanho do buffer de leitura das entradas contínuas.*/
+    private static final int TAMANHO_BUFFER = 8192;
+
+    /**Tabela de transição compilada.*/
+    private final TabelaTransicao tabela;
+    /**Índice do estado inicial.*/
+    private final int estadoInicial;
+    /**Conjunto dos estados terminais, pelos índices.*/
+    private final BitSet terminais;
+    /**Estados a partir dos quais nenhum estado terminal é atingível.*/
+    private final BitSet mortos;
+    /**Estados a partir dos quais qualquer cadeia de caracteres é aceita.*/
+    private final BitSet aceitacaoGarantida;
+    /**Estados em que o veredito já está definido, para entradas de caracteres.*/
+    private final boolean[] decidido;
+    /**Estados em que o veredito já está definido, para entradas de bytes.*/
+    private final boolean[] decididoBytes;
+
+    /**
+     * Cria uma instância da classe.
+     * @param tabela tabela de transição compilada.
+     * @param estadoInicial índice do estado inicial na tabela.
+     * @param terminais índices dos estados terminais na tabela.
+     */
+    public AutomatoCompilado(TabelaTransicao tabela, int estadoInicial, BitSet terminais) {
+        if (estadoInicial < 0 || estadoInicial >= tabela.dimensaoEstados()) {
+            throw new IllegalArgumentException("Estado inicial inválido.");
+        }
+        if (terminais.length() > tabela.dimensaoEstados()) {
+            throw new IllegalArgumentException("Estado terminal inválido.");
+        }
+        this.tabela = tabela;
+        this.estadoInicial = estadoInicial;
+        this.terminais = (BitSet) terminais.clone();
+        int estados = tabela.dimensaoEstados();
+        int classes = tabela.dimensaoClasses();
+        boolean[] terminal = new boolean[estados];
+        for (int q = terminais.nextSetBit(0); q >= 0; q = terminais.nextSetBit(q + 1)) {
+            terminal[q] = true;
+        }
+        boolean[] todasClasses = new boolean[classes];
+        Arrays.fill(todasClasses, true);
+        boolean[] vivos = atingem(tabela, terminal, todasClasses);
+        //Na entrada de bytes, somente as classes dos caracteres 0 a 255 são lidas.
+        boolean[] classesBytes = new boolean[classes];
+        boolean bytesCobertos = true;
+        for (int b = 0; b < 256; b++) {
+            int classe = tabela.classe((char) b);
+            if (classe >= 0) {
+                classesBytes[classe] = true;
+            } else {
+                bytesCobertos = false;
+            }
+        }
+        boolean[] garantida = aceitacaoGarantida(tabela, terminal, todasClasses,
+            tabela.dimensaoAlfabeto() == Character.MAX_VALUE + 1);
+        boolean[] garantidaBytes = aceitacaoGarantida(tabela, terminal, classesBytes,
+            bytesCobertos);
+        mortos = new BitSet(estados);
+        aceitacaoGarantida = new BitSet(estados);
+        decidido = new boolean[estados];
+        decididoBytes = new boolean[estados];
+        for (int q = 0; q < estados; q++) {
+            if (!vivos[q]) {
+                mortos.set(q);
+            }
+            if (garantida[q]) {
+                aceitacaoGarantida.set(q);
+            }
+            decidido[q] = !vivos[q] || garantida[q];
+            decididoBytes[q] = !vivos[q] || garantidaBytes[q];
+        }
+    }
+
+    /**
+     * Determina os estados a partir dos quais algum estado de um conjunto é
+     * atingível, por uma busca em largura sobre as transições invertidas.
+     * @param tabela tabela de transição.
+     * @param alvo estados do conjunto a ser atingido.
+     * @param classes classes de símbolos cujas transições são consideradas.
+     * @return Indicação, por estado, de que o conjunto é atingível a partir dele.
+     */
+    private static boolean[] atingem(TabelaTransicao tabela, boolean[] alvo,
+    boolean[] classes) {
+        int estados = tabela.dimensaoEstados();
+        //Transições invertidas, agrupadas pelo estado de destino.
+        int[] inicio = new int[estados + 1];
+        for (int q = 0; q < estados; q++) {
+            for (int c = 0; c < classes.length; c++) {
+                int destino = tabela.destinoClasse(q, c);
+                if (classes[c] && destino >= 0) {
+                    inicio[destino + 1]++;
+                }
+            }
+        }
+        for (int q = 0; q < estados; q++) {
+            inicio[q + 1] += inicio[q];
+        }
+        int[] origens = new int[inicio[estados]];
+        int[] posicao = Arrays.copyOf(inicio, estados);
+        for (int q = 0; q < estados; q++) {
+            for (int c = 0; c < classes.length; c++) {
+                int destino = tabela.destinoClasse(q, c);
+                if (classes[c] && destino >= 0) {
+                    origens[posicao[destino]++] = q;
+                }
+            }
+        }
+        boolean[] atinge = alvo.clone();
+        int[] fila = new int[estados];
+        int fim = 0;
+        for (int q = 0; q < estados; q++) {
+            if (atinge[q]) {
+                fila[fim++] = q;
+            }
+        }
+        for (int i = 0; i < fim; i++) {
+            int destino = fila[i];
+            for (int j = inicio[destino]; j < inicio[destino + 1]; j++) {
+                if (!atinge[origens[j]]) {
+                    atinge[origens[j]] = true;
+                    fila[fim++] = origens[j];
+                }
+            }
+        }
+        return atinge;
+    }
+
+    /**
+     * Determina os estados a partir dos quais toda continuação é aceita, ou
+     * seja, que não atingem nenhum estado não terminal nem nenhuma transição
+     * indefinida.
+     * @param tabela tabela de transição.
+     * @param terminal indicação, por estado, de que o estado é terminal.
+     * @param classes classes de símbolos que podem ser lidas.
+     * @param coberto indica se todo símbolo que pode ser lido pertence ao
+     * alfabeto. Caso contrário, nenhum estado tem aceitação garantida.
+     * @return Indicação, por estado, de aceitação garantida.
+     */
+    private static boolean[] aceitacaoGarantida(TabelaTransicao tabela,
+    boolean[] terminal, boolean[] classes, boolean coberto) {
+        boolean[] garantida = new boolean[terminal.length];
+        if (!coberto) {
+            return garantida;
+        }
+        boolean[] rejeita = new boolean[terminal.length];
+        for (int q = 0; q < terminal.length; q++) {
+            rejeita[q] = !terminal[q];
+            for (int c = 0; c < classes.length && !rejeita[q]; c++) {
+                rejeita[q] = classes[c] && tabela.destinoClasse(q, c) < 0;
+            }
+        }
+        boolean[] atinge = atingem(tabela, rejeita, classes);
+        for (int q = 0; q < terminal.length; q++) {
+            garantida[q] = !atinge[q];
+        }
+        return garantida;
+    }
+
+    /**
+     * Tabela de transição compilada.
+     * @return Tabela de transição.
+     */
+    public TabelaTransicao getTabela() {
+        return tabela;
+    }
+
+    /**
+     * Índice do estado inicial na tabela de transição.
+     * @return Índice do estado inicial.
+     */
+    public int getEstadoInicial() {
+        return estadoInicial;
+    }
+
+    /**
+     * Número de estados do autômato.
+     * @return Número de estados.
+     */
+    public int dimensaoEstados() {
+        return tabela.dimensaoEstados();
+    }
+
+    /**
+     * Indica se um estado é terminal.
+     * @param estado índice do estado.
+     * @return <b>true</b>, caso o estado seja terminal, <b>false</b>, caso não
+     * seja ou o índice seja {@link TabelaTransicao#INDEFINIDO}.
+     */
+    public boolean isTerminal(int estado) {
+        return estado >= 0 && terminais.get(estado);
+    }
+
+    /**
+     * Indica se um estado é morto, ou seja, se nenhum estado terminal é
+     * atingível a partir dele.
+     * @param estado índice do estado.
+     * @return <b>true</b>, caso o estado seja morto ou o índice seja
+     * {@link TabelaTransicao#INDEFINIDO}, <b>false</b>, caso contrário.
+     */
+    public boolean isMorto(int estado) {
+        return estado < 0 || mortos.get(estado);
+    }
+
+    /**
+     * Indica se qualquer cadeia de caracteres é aceita a partir de um estado.
+     * Só é possível caso o alfabeto contenha todos os caracteres.
+     * @param estado índice do estado.
+     * @return <b>true</b>, caso a aceitação seja garantida, <b>false</b>, caso
+     * contrário.
+     */
+    public boolean isAceitacaoGarantida(int estado) {
+        return estado >= 0 && aceitacaoGarantida.get(estado);
+    }
+
+    /**
+     * Indica se o veredito de uma palavra de caracteres já está definido ao
+     * atingir um estado, ou seja, se o estado é morto ou de aceitação garantida.
+     * @param estado índice de um estado válido.
+     * @return <b>true</b>, caso o veredito esteja definido, <b>false</b>, caso
+     * contrário.
+     */
+    boolean isDecidido(int estado) {
+        return decidido[estado];
+    }
+
+    /**
+     * Retorna uma cópia do conjunto dos estados terminais.
+     * @return Índices dos estados terminais.
+     */
+    public BitSet terminais() {
+        return (BitSet) terminais.clone();
+    }
+
+    /**
+     * Processa um trecho de uma cadeia de símbolos a partir de um estado.
+     * @param estado índice do estado de partida.
+     * @param cadeia símbolos a serem lidos.
+     * @param inicio posição do primeiro símbolo a ser lido.
+     * @param fim posição seguinte ao último símbolo a ser lido.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    public int estadoFinal(int estado, char[] cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0; celula++) {
+            estado = tabela.transicao(estado, cadeia[celula]);
+        }
+        return estado;
+    }
+
+    /**
+     * Processa uma cadeia de símbolos a partir do estado inicial.
+     * @param cadeia símbolos a serem lidos.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    public int estadoFinal(CharSequence cadeia) {
+        int estado = estadoInicial;
+        for (int celula = 0; celula < cadeia.length() && estado >= 0; celula++) {
+            estado = tabela.transicao(estado, cadeia.charAt(celula));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa um trecho de um vetor de bytes a partir de um estado, sendo cada
+     * byte interpretado como um símbolo do conjunto ISO-8859-1 (Latin-1).
+     * @param estado índice do estado de partida.
+     * @param cadeia bytes a serem lidos.
+     * @param inicio posição do primeiro byte a ser lido.
+     * @param fim posição seguinte ao último byte a ser lido.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    public int estadoFinal(int estado, byte[] cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0; celula++) {
+            estado = tabela.transicao(estado, (char) (cadeia[celula] & 0xFF));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa um trecho de um buffer de bytes a partir de um estado, sendo cada
+     * byte interpretado como um símbolo do conjunto ISO-8859-1 (Latin-1). Os
+     * bytes são lidos por posição absoluta, sem alterar a posição do buffer.
+     * @param estado índice do estado de partida.
+     * @param cadeia buffer a ser lido.
+     * @param inicio posição do primeiro byte a ser lido.
+     * @param fim posição seguinte ao último byte a ser lido.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    public int estadoFinal(int estado, ByteBuffer cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0; celula++) {
+            estado = tabela.transicao(estado, (char) (cadeia.get(celula) & 0xFF));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa a Fita de Entrada a partir do estado inicial.
+     * @param palavra Fita de Entrada a ser processada.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    public int estadoFinal(FitaEntrada palavra) {
+        int estado = estadoInicial;
+        for (int celula = 0; celula < palavra.dimensao() && estado >= 0; celula++) {
+            estado = tabela.transicao(estado, palavra.getCelula(celula));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa um trecho de uma cadeia de símbolos a partir de um estado, até o
+     * fim do trecho ou até atingir um estado em que o veredito já está definido.
+     * @param estado índice do estado de partida.
+     * @param cadeia símbolos a serem lidos.
+     * @param inicio posição do primeiro símbolo a ser lido.
+     * @param fim posição seguinte ao último símbolo a ser lido.
+     * @return Índice do estado em que o processamento parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    private int avancar(int estado, char[] cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0 && !decidido[estado]; celula++) {
+            estado = tabela.transicao(estado, cadeia[celula]);
+        }
+        return estado;
+    }
+
+    /**
+     * Processa um trecho de um vetor de bytes (Latin-1) a partir de um estado,
+     * até o fim do trecho ou até atingir um estado em que o veredito já está
+     * definido.
+     * @param estado índice do estado de partida.
+     * @param cadeia bytes a serem lidos.
+     * @param inicio posição do primeiro byte a ser lido.
+     * @param fim posição seguinte ao último byte a ser lido.
+     * @return Índice do estado em que o processamento parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    private int avancar(int estado, byte[] cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0 && !decididoBytes[estado]; celula++) {
+            estado = tabela.transicao(estado, (char) (cadeia[celula] & 0xFF));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa um trecho de um buffer de bytes (Latin-1) a partir de um estado,
+     * até o fim do trecho ou até atingir um estado em que o veredito já está
+     * definido.
+     * @param estado índice do estado de partida.
+     * @param cadeia buffer a ser lido, por posição absoluta.
+     * @param inicio posição do primeiro byte a ser lido.
+     * @param fim posição seguinte ao último byte a ser lido.
+     * @return Índice do estado em que o processamento parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    private int avancar(int estado, ByteBuffer cadeia, int inicio, int fim) {
+        for (int celula = inicio; celula < fim && estado >= 0 && !decididoBytes[estado]; celula++) {
+            estado = tabela.transicao(estado, (char) (cadeia.get(celula) & 0xFF));
+        }
+        return estado;
+    }
+
+    /**
+     * Verifica se uma cadeia de símbolos é aceita pelo autômato. A leitura é
+     * interrompida assim que o veredito estiver definido.
+     * @param cadeia símbolos a serem lidos.
+     * @return <b>true</b>, caso a cadeia seja aceita, <b>false</b>, caso não seja.
+     */
+    public boolean aceita(CharSequence cadeia) {
+        int estado = estadoInicial;
+        for (int celula = 0; celula < cadeia.length() && estado >= 0 && !decidido[estado]; celula++) {
+            estado = tabela.transicao(estado, cadeia.charAt(celula));
+        }
+        return isTerminal(estado);
+    }
+
+    /**
+     * Verifica se a palavra da Fita de Entrada é aceita pelo autômato. A leitura
+     * é interrompida assim que o veredito estiver definido.
+     * @param palavra Fita de Entrada a ser processada.
+     * @return <b>true</b>, caso a palavra seja aceita, <b>false</b>, caso não seja.
+     */
+    public boolean aceita(FitaEntrada palavra) {
+        return isTerminal(avancar(estadoInicial, palavra.cadeia(), 0, palavra.dimensao()));
+    }
+
+    /**
+     * Processa a Fita de Entrada, retornando a indicação de aceitação e o estado
+     * em que o autômato convergiu após a leitura do último símbolo.
+     * @param palavra Fita de Entrada a ser processada.
+     * @return Resultado do processamento.
+     */
+    public ResultadoProcessamento processar(FitaEntrada palavra) {
+        return resultado(estadoFinal(estadoInicial, palavra.cadeia(), 0, palavra.dimensao()));
+    }
+
+    /**
+     * Verifica um lote de palavras, dividindo o trabalho entre os processadores
+     * disponíveis. Em cada processador, várias palavras são processadas de forma
+     * intercalada, de modo que as leituras da tabela de transição de palavras
+     * diferentes se sobreponham.
+     * @param palavras palavras a serem verificadas.
+     * @return Conjunto dos índices, na lista, das palavras aceitas.
+     */
+    public BitSet aceitaTodas(List<FitaEntrada> palavras) {
+        return BitSet.valueOf(AceitacaoParalela.verificar(
+            this, palavras.toArray(new FitaEntrada[palavras.size()])
+        ));
+    }
+
+    /**
+     * Verifica um lote de palavras, dividindo o trabalho entre os processadores
+     * disponíveis. Em cada processador, várias palavras são processadas de forma
+     * intercalada, de modo que as leituras da tabela de transição de palavras
+     * diferentes se sobreponham.
+     * @param palavras palavras a serem verificadas.
+     * @return Vetor com a indicação de aceitação de cada palavra, na mesma
+     * ordem do lote.
+     */
+    public boolean[] aceitaTodas(FitaEntrada[] palavras) {
+        boolean[] aceitas = new boolean[palavras.length];
+        AceitacaoParalela.verificar(this, palavras, aceitas);
+        return aceitas;
+    }
+
+    /**
+     * Verifica um lote de palavras na thread corrente, sem dividir o trabalho
+     * entre os processadores. As palavras são processadas de forma intercalada,
+     * como em {@link #aceitaTodas(FitaEntrada[])}.
+     * @param palavras palavras a serem verificadas.
+     * @return Vetor com a indicação de aceitação de cada palavra, na mesma
+     * ordem do lote.
+     */
+    public boolean[] aceitaTodasSequencial(FitaEntrada[] palavras) {
+        boolean[] aceitas = new boolean[palavras.length];
+        AceitacaoIntercalada.verificar(this, palavras, 0, palavras.length, null, aceitas);
+        return aceitas;
+    }
+
+    /**
+     * Cria o resultado do processamento a partir do índice do estado final.
+     * @param estado índice do estado em que o autômato convergiu.
+     * @return Resultado do processamento.
+     */
+    private ResultadoProcessamento resultado(int estado) {
+        return new ResultadoProcessamento(
+            isTerminal(estado),
+            estado >= 0 ? tabela.estadoEm(estado) : null
+        );
+    }
+
+    /**
+     * Processa os símbolos fornecidos por um leitor, sem carregar toda a entrada
+     * em memória. Os símbolos são lidos em blocos para um buffer de tamanho fixo,
+     * de forma que o consumo de memória independe do tamanho da entrada.<br>
+     * A leitura só é interrompida ao encontrar uma transição não definida.
+     * @param leitor fonte dos símbolos. Não é fechado por este método.
+     * @return Resultado do processamento.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public ResultadoProcessamento processar(Reader leitor) throws IOException {
+        return resultado(ler(leitor, false));
+    }
+
+    /**
+     * Verifica se os símbolos fornecidos por um leitor formam uma palavra aceita
+     * pelo autômato, sem carregar toda a entrada em memória. A leitura é
+     * interrompida assim que o veredito estiver definido, e o restante do leitor
+     * não é consumido.
+     * @param leitor fonte dos símbolos. Não é fechado por este método.
+     * @return <b>true</b>, caso a palavra seja aceita, <b>false</b>, caso não seja.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public boolean aceita(Reader leitor) throws IOException {
+        return isTerminal(ler(leitor, true));
+    }
+
+    /**
+     * Lê os símbolos de um leitor em blocos, a partir do estado inicial.
+     * @param leitor fonte dos símbolos.
+     * @param interromper indica se a leitura é interrompida ao atingir um estado
+     * em que o veredito já está definido.
+     * @return Índice do estado em que a leitura parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    private int ler(Reader leitor, boolean interromper) throws IOException {
+        char[] buffer = new char[TAMANHO_BUFFER];
+        int estado = estadoInicial;
+        int lidos;
+        while (estado >= 0 && !(interromper && decidido[estado]) &&
+        (lidos = leitor.read(buffer)) >= 0) {
+            estado = (interromper ? avancar(estado, buffer, 0, lidos) :
+                estadoFinal(estado, buffer, 0, lidos));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa os bytes de um fluxo de entrada, sem carregar toda a entrada em
+     * memória, sendo cada byte interpretado como um símbolo do conjunto
+     * ISO-8859-1 (Latin-1). Para entradas em outras codificações, use
+     * {@link #processar(InputStream, Charset)}.<br>
+     * A leitura só é interrompida ao encontrar uma transição não definida.
+     * @param entrada fonte dos símbolos. Não é fechada por este método.
+     * @return Resultado do processamento.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public ResultadoProcessamento processar(InputStream entrada) throws IOException {
+        return resultado(ler(entrada, false));
+    }
+
+    /**
+     * Verifica se os bytes de um fluxo de entrada (Latin-1) formam uma palavra
+     * aceita pelo autômato, sem carregar toda a entrada em memória. A leitura é
+     * interrompida assim que o veredito estiver definido, e o restante do fluxo
+     * não é consumido.
+     * @param entrada fonte dos símbolos. Não é fechada por este método.
+     * @return <b>true</b>, caso a palavra seja aceita, <b>false</b>, caso não seja.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public boolean aceita(InputStream entrada) throws IOException {
+        return isTerminal(ler(entrada, true));
+    }
+
+    /**
+     * Lê os bytes de um fluxo de entrada em blocos, a partir do estado inicial.
+     * @param entrada fonte dos símbolos.
+     * @param interromper indica se a leitura é interrompida ao atingir um estado
+     * em que o veredito já está definido.
+     * @return Índice do estado em que a leitura parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    private int ler(InputStream entrada, boolean interromper) throws IOException {
+        byte[] buffer = new byte[TAMANHO_BUFFER];
+        int estado = estadoInicial;
+        int lidos;
+        while (estado >= 0 && !(interromper && decididoBytes[estado]) &&
+        (lidos = entrada.read(buffer)) >= 0) {
+            estado = (interromper ? avancar(estado, buffer, 0, lidos) :
+                estadoFinal(estado, buffer, 0, lidos));
+        }
+        return estado;
+    }
+
+    /**
+     * Processa os símbolos de um fluxo de entrada numa codificação específica,
+     * sem carregar toda a entrada em memória.
+     * @param entrada fonte dos símbolos. Não é fechada por este método.
+     * @param codificacao codificação dos caracteres da entrada.
+     * @return Resultado do processamento.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public ResultadoProcessamento processar(InputStream entrada, Charset codificacao)
+    throws IOException {
+        return processar(new InputStreamReader(entrada, codificacao));
+    }
+
+    /**
+     * Processa os bytes de um canal, sem carregar toda a entrada em memória,
+     * sendo cada byte interpretado como um símbolo do conjunto ISO-8859-1
+     * (Latin-1).<br>
+     * A leitura só é interrompida ao encontrar uma transição não definida.
+     * @param canal fonte dos símbolos. Não é fechado por este método.
+     * @return Resultado do processamento.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public ResultadoProcessamento processar(ReadableByteChannel canal) throws IOException {
+        return resultado(ler(canal, false));
+    }
+
+    /**
+     * Verifica se os bytes de um canal (Latin-1) formam uma palavra aceita pelo
+     * autômato, sem carregar toda a entrada em memória. A leitura é interrompida
+     * assim que o veredito estiver definido, e o restante do canal não é
+     * consumido.
+     * @param canal fonte dos símbolos. Não é fechado por este método.
+     * @return <b>true</b>, caso a palavra seja aceita, <b>false</b>, caso não seja.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    public boolean aceita(ReadableByteChannel canal) throws IOException {
+        return isTerminal(ler(canal, true));
+    }
+
+    /**
+     * Lê os bytes de um canal em blocos, a partir do estado inicial.
+     * @param canal fonte dos símbolos.
+     * @param interromper indica se a leitura é interrompida ao atingir um estado
+     * em que o veredito já está definido.
+     * @return Índice do estado em que a leitura parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     * @throws IOException Caso ocorra um erro na leitura.
+     */
+    private int ler(ReadableByteChannel canal, boolean interromper) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+        int estado = estadoInicial;
+        while (estado >= 0 && !(interromper && decididoBytes[estado]) &&
+        canal.read(buffer) >= 0) {
+            estado = (interromper ? avancar(estado, buffer.array(), 0, buffer.position()) :
+                estadoFinal(estado, buffer.array(), 0, buffer.position()));
+            buffer.clear();
+        }
+        return estado;
+    }
+
+    /**
+     * Processa o conteúdo de um arquivo lendo-o diretamente da memória mapeada,
+     * sem cópia para uma Fita de Entrada. Cada byte do arquivo é interpretado
+     * como um símbolo do conjunto ISO-8859-1 (Latin-1), e arquivos maiores que
+     * 2 GB são percorridos em janelas mapeadas sucessivamente.
+     * @param arquivo caminho do arquivo.
+     * @return Resultado do processamento.
+     * @throws IOException Caso o arquivo não possa ser lido.
+     * @see ArquivoMapeado
+     */
+    public ResultadoProcessamento processar(Path arquivo) throws IOException {
+        return resultado(ler(arquivo, false));
+    }
+
+    /**
+     * Verifica se o conteúdo de um arquivo (Latin-1) é uma palavra aceita pelo
+     * autômato, lendo-o diretamente da memória mapeada. As janelas seguintes não
+     * são mapeadas caso o veredito já esteja definido.
+     * @param arquivo caminho do arquivo.
+     * @return <b>true</b>, caso a palavra seja aceita, <b>false</b>, caso não seja.
+     * @throws IOException Caso o arquivo não possa ser lido.
+     * @see ArquivoMapeado
+     */
+    public boolean aceita(Path arquivo) throws IOException {
+        return isTerminal(ler(arquivo, true));
+    }
+
+    /**
+     * Lê o conteúdo de um arquivo mapeado em memória, janela a janela, a partir
+     * do estado inicial.
+     * @param arquivo caminho do arquivo.
+     * @param interromper indica se a leitura é interrompida ao atingir um estado
+     * em que o veredito já está definido.
+     * @return Índice do estado em que a leitura parou, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     * @throws IOException Caso o arquivo não possa ser lido.
+     */
+    private int ler(Path arquivo, boolean interromper) throws IOException {
+        try (ArquivoMapeado mapeado = new ArquivoMapeado(arquivo)) {
+            int estado = estadoInicial;
+            int janela = mapeado.getTamanhoJanela();
+            for (long posicao = 0; posicao < mapeado.dimensao() && estado >= 0
+            && !(interromper && decididoBytes[estado]); posicao += janela) {
+                int tamanho = (int) Math.min(janela, mapeado.dimensao() - posicao);
+                ByteBuffer trecho = mapeado.mapear(posicao, tamanho);
+                estado = (interromper ? avancar(estado, trecho, 0, tamanho) :
+                    estadoFinal(estado, trecho, 0, tamanho));
+            }
+            return estado;
+        }
+    }
+
+    /**
+     * Processa uma única palavra muito longa dividindo-a em trechos, que são
+     * processados simultaneamente pelos processadores disponíveis a partir de
+     * todos os estados em que o autômato pode se encontrar no início de cada
+     * trecho. Os resultados dos trechos são então compostos em ordem.<br>
+     * Palavras curtas são processadas sequencialmente.
+     * @param palavra Fita de Entrada a ser processada.
+     * @return Resultado do processamento.
+     * @see ProcessamentoEspeculativo
+     */
+    public ResultadoProcessamento processarParalelo(FitaEntrada palavra) {
+        return resultado(ProcessamentoEspeculativo.estadoFinal(this, palavra.cadeia()));
+    }
+
+    /**
+     * Processa o conteúdo de um arquivo mapeado em memória dividindo-o em
+     * trechos processados simultaneamente, como em
+     * {@link #processarParalelo(FitaEntrada)}. Cada byte do arquivo é
+     * interpretado como um símbolo do conjunto ISO-8859-1 (Latin-1).
+     * @param arquivo caminho do arquivo.
+     * @return Resultado do processamento.
+     * @throws IOException Caso o arquivo não possa ser lido.
+     */
+    public ResultadoProcessamento processarParalelo(Path arquivo) throws IOException {
+        try (ArquivoMapeado mapeado = new ArquivoMapeado(arquivo)) {
+            return resultado(ProcessamentoEspeculativo.estadoFinal(this, mapeado));
+        }
+    }
+
+}
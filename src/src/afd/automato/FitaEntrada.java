@@ -27,6 +27,15 @@ public class FitaEntrada {
         return cadeia.clone();
     }
 
+    /**
+     * Retorna o conteúdo da Fita de Entrada sem cópia, para uso pelos
+     * processamentos internos do pacote, que apenas o leem.
+     * @return Vetor interno de símbolos.
+     */
+    char[] cadeia() {
+        return cadeia;
+    }
+
     /**
      * Retorna o símbolo em uma célula específica da Fita de Entrada.
      * @param indice posição da célula na Fita de Entrada.
@@ -36,6 +45,16 @@ public class FitaEntrada {
         return cadeia[indice];
     }
 
+    /**
+     * Retorna a parcela da Fita de Entrada a partir de uma célula específica.
+     * As células da parcela são copiadas para a cadeia retornada.
+     * @param indice posição da primeira célula da parcela.
+     * @return Símbolos da célula indicada até a última célula da Fita de Entrada.
+     */
+    public String parcela(int indice) {
+        return new String(cadeia, indice, cadeia.length - indice);
+    }
+
     /**
      * Retorna o número de símbolos na Fita de Entrada.
      * @return Número de símbolos na Fita de Entrada.
@@ -0,0 +1,24 @@
+package afd.automato;
+
+/**
+ * Define o quanto do processamento da Fita de Entrada é registrado pelo autômato.
+ * <ul>
+ * <li><b>DESLIGADO</b>: nenhum histórico é registrado;
+ * <li><b>COMPACTO</b>: são registrados apenas os índices dos estados visitados,
+ * sendo cada etapa do processamento reconstruída somente quando consultada;
+ * <li><b>COMPLETO</b>: cada etapa do processamento é registrada em um objeto
+ * {@link Automato.Processamento}.
+ * </ul>
+ * @see Automato#setNivelRastreamento(NivelRastreamento)
+ * @author Leandro
+ */
+public enum NivelRastreamento {
+
+    /**Nenhum histórico é registrado.*/
+    DESLIGADO,
+    /**Apenas os índices dos estados visitados são registrados.*/
+    COMPACTO,
+    /**Cada etapa do processamento é registrada.*/
+    COMPLETO
+
+}
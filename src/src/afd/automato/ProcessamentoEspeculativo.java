@@ -0,0 +1,387 @@
+package afd.automato;
+
+import afd.ftransicao.TabelaTransicao;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Processamento paralelo de uma única palavra muito longa.<br>
+ * A palavra é dividida em trechos, processados simultaneamente. Como o estado em
+ * que o autômato chega ao início de cada trecho (exceto o primeiro) ainda não é
+ * conhecido, o trecho é processado a partir de todos os estados possíveis,
+ * obtendo-se o mapeamento <i>estado de entrada -> estado de saída</i> do trecho.
+ * Ao final, os mapeamentos são compostos em ordem, a partir do estado final do
+ * primeiro trecho.<p>
+ * Para reduzir o trabalho especulativo:
+ * <ul>
+ * <li>os estados de entrada considerados são apenas os que podem ser atingidos
+ * com a leitura do símbolo anterior ao trecho;
+ * <li>as execuções que convergem para um mesmo estado são unificadas ao longo do
+ * processamento, de forma que, em autômatos que sincronizam rapidamente, cada
+ * trecho passa a ser percorrido por uma única execução.
+ * </ul>
+ * @see AutomatoCompilado#processarParalelo(FitaEntrada)
+ * @author Leandro
+ */
+class ProcessamentoEspeculativo {
+
+    /**Tamanho mínimo de cada trecho para justificar a divisão da palavra.*/
+    static final int DIMENSAO_MINIMA_TRECHO = 1 << 20;
+
+    /**
+     * Trecho da palavra, processado como uma tarefa independente.
+     */
+    @SuppressWarnings("serial")
+    private abstract static class Trecho extends RecursiveAction {
+
+        /**Autômato que processa o trecho.*/
+        final AutomatoCompilado automato;
+        /**Indica se é o primeiro trecho, que parte do estado inicial.*/
+        final boolean inicial;
+        /**Estado de entrada -> execução, ou {@link TabelaTransicao#INDEFINIDO}.*/
+        int[] mapa;
+        /**Estado corrente de cada execução.*/
+        int[] execucoes;
+
+        /**
+         * Cria uma instância da classe.
+         * @param automato autômato que processa o trecho.
+         * @param inicial indica se é o primeiro trecho da palavra.
+         */
+        Trecho(AutomatoCompilado automato, boolean inicial) {
+            this.automato = automato;
+            this.inicial = inicial;
+        }
+
+        /**
+         * Prepara a leitura dos símbolos do trecho.
+         */
+        abstract void abrir();
+
+        /**
+         * Número de símbolos do trecho.
+         * @return Número de símbolos.
+         */
+        abstract int dimensao();
+
+        /**
+         * Símbolo em uma posição do trecho.
+         * @param indice posição relativa ao início do trecho.
+         * @return Símbolo.
+         */
+        abstract char simbolo(int indice);
+
+        /**
+         * Símbolo imediatamente anterior ao trecho, na palavra.
+         * @return Símbolo anterior.
+         */
+        abstract char anterior();
+
+        /**
+         * Estado de saída do trecho para um estado de entrada.
+         * @param estado índice do estado de entrada.
+         * @return Índice do estado de saída.
+         */
+        int saida(int estado) {
+            if (inicial) {
+                return execucoes[0];
+            }
+            return (estado >= 0 ? execucoes[mapa[estado]] : TabelaTransicao.INDEFINIDO);
+        }
+
+        @Override
+        protected void compute() {
+            abrir();
+            TabelaTransicao tabela = automato.getTabela();
+            int dimensao = dimensao();
+            if (inicial) {
+                int estado = automato.getEstadoInicial();
+                for (int i = 0; i < dimensao && estado >= 0; i++) {
+                    estado = tabela.transicao(estado, simbolo(i));
+                }
+                execucoes = new int[]{estado};
+                return;
+            }
+            int estados = tabela.dimensaoEstados();
+            mapa = new int[estados];
+            Arrays.fill(mapa, TabelaTransicao.INDEFINIDO);
+            execucoes = new int[estados + 1];
+            int[] candidatos = new int[estados];
+            int numCandidatos = 0;
+            int numExecucoes = 0;
+            //Estados de entrada possíveis: destinos da leitura do símbolo anterior.
+            int classeAnterior = tabela.classe(anterior());
+            if (classeAnterior >= 0) {
+                for (int q = 0; q < estados; q++) {
+                    int destino = tabela.destinoClasse(q, classeAnterior);
+                    if (destino >= 0 && mapa[destino] < 0) {
+                        mapa[destino] = numExecucoes;
+                        execucoes[numExecucoes++] = destino;
+                        candidatos[numCandidatos++] = destino;
+                    }
+                }
+            }
+            int[] unificacao = new int[estados + 1];
+            int[] execucaoDoEstado = new int[estados + 1];
+            int[] marca = new int[estados + 1];
+            int geracao = 0;
+            int passos = 0;
+            int i = 0;
+            while (i < dimensao && numExecucoes > 1) {
+                int classe = tabela.classe(simbolo(i++));
+                for (int j = 0; j < numExecucoes; j++) {
+                    int estado = execucoes[j];
+                    execucoes[j] = (estado >= 0 && classe >= 0 ?
+                        tabela.destinoClasse(estado, classe) : TabelaTransicao.INDEFINIDO);
+                }
+                /*
+                 * Unifica as execuções que convergiram, quando o trabalho feito
+                 * desde a última unificação já supera o custo de refazer o mapa.
+                 */
+                passos += numExecucoes;
+                if (passos >= numCandidatos) {
+                    passos = 0;
+                    geracao++;
+                    int unificadas = 0;
+                    for (int j = 0; j < numExecucoes; j++) {
+                        //A posição 0 de marca representa o estado indefinido.
+                        int chave = execucoes[j] + 1;
+                        if (marca[chave] != geracao) {
+                            marca[chave] = geracao;
+                            execucaoDoEstado[chave] = unificadas;
+                            execucoes[unificadas++] = execucoes[j];
+                        }
+                        unificacao[j] = execucaoDoEstado[chave];
+                    }
+                    if (unificadas < numExecucoes) {
+                        for (int c = 0; c < numCandidatos; c++) {
+                            mapa[candidatos[c]] = unificacao[mapa[candidatos[c]]];
+                        }
+                        numExecucoes = unificadas;
+                    }
+                }
+            }
+            //Resta uma única execução: segue sem especulação.
+            if (numExecucoes == 1) {
+                int estado = execucoes[0];
+                while (i < dimensao && estado >= 0) {
+                    estado = tabela.transicao(estado, simbolo(i++));
+                }
+                execucoes[0] = estado;
+            }
+        }
+
+    }
+
+    /**
+     * Trecho de uma cadeia de símbolos em memória.
+     */
+    @SuppressWarnings("serial")
+    private static class TrechoCadeia extends Trecho {
+
+        /**Cadeia completa.*/
+        private final char[] cadeia;
+        /**Posição do primeiro símbolo do trecho.*/
+        private final int inicio;
+        /**Posição seguinte ao último símbolo do trecho.*/
+        private final int fim;
+
+        TrechoCadeia(AutomatoCompilado automato, char[] cadeia, int inicio, int fim) {
+            super(automato, inicio == 0);
+            this.cadeia = cadeia;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        void abrir() {
+        }
+
+        @Override
+        int dimensao() {
+            return fim - inicio;
+        }
+
+        @Override
+        char simbolo(int indice) {
+            return cadeia[inicio + indice];
+        }
+
+        @Override
+        char anterior() {
+            return cadeia[inicio - 1];
+        }
+
+    }
+
+    /**
+     * Trecho de um arquivo mapeado em memória. O trecho é mapeado juntamente com
+     * o byte anterior a ele.
+     */
+    @SuppressWarnings("serial")
+    private static class TrechoMapeado extends Trecho {
+
+        /**Arquivo mapeado.*/
+        private final ArquivoMapeado arquivo;
+        /**Posição do primeiro byte do trecho.*/
+        private final long inicio;
+        /**Número de bytes do trecho.*/
+        private final int dimensao;
+        /**Deslocamento do trecho na janela mapeada.*/
+        private int deslocamento;
+        /**Janela mapeada.*/
+        private MappedByteBuffer janela;
+
+        TrechoMapeado(AutomatoCompilado automato, ArquivoMapeado arquivo,
+        long inicio, int dimensao) {
+            super(automato, inicio == 0);
+            this.arquivo = arquivo;
+            this.inicio = inicio;
+            this.dimensao = dimensao;
+        }
+
+        @Override
+        void abrir() {
+            try {
+                deslocamento = (inicial ? 0 : 1);
+                janela = arquivo.mapear(inicio - deslocamento, dimensao + deslocamento);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        int dimensao() {
+            return dimensao;
+        }
+
+        @Override
+        char simbolo(int indice) {
+            return (char) (janela.get(deslocamento + indice) & 0xFF);
+        }
+
+        @Override
+        char anterior() {
+            return (char) (janela.get(0) & 0xFF);
+        }
+
+    }
+
+    /**
+     * Tarefa que processa todos os trechos em paralelo.
+     */
+    @SuppressWarnings("serial")
+    private static class Trechos extends RecursiveAction {
+
+        /**Trechos da palavra, em ordem.*/
+        private final Trecho[] trechos;
+
+        Trechos(Trecho[] trechos) {
+            this.trechos = trechos;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(trechos);
+        }
+
+    }
+
+    /**
+     * Compõe os mapeamentos dos trechos, em ordem.
+     * @param trechos trechos da palavra, já processados.
+     * @return Índice do estado final da palavra.
+     */
+    private static int compor(Trecho[] trechos) {
+        ForkJoinPool.commonPool().invoke(new Trechos(trechos));
+        int estado = TabelaTransicao.INDEFINIDO;
+        for (int i = 0; i < trechos.length; i++) {
+            estado = trechos[i].saida(estado);
+        }
+        return estado;
+    }
+
+    /**
+     * Número de trechos em que uma entrada deve ser dividida.
+     * @param dimensao tamanho da entrada.
+     * @return Número de trechos.
+     */
+    private static int numeroTrechos(long dimensao) {
+        return (int) Math.max(1, Math.min(
+            ForkJoinPool.getCommonPoolParallelism(),
+            dimensao / DIMENSAO_MINIMA_TRECHO
+        ));
+    }
+
+    /**
+     * Processa uma cadeia de símbolos em paralelo.
+     * @param automato autômato que processa a cadeia.
+     * @param cadeia símbolos a serem lidos.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    static int estadoFinal(AutomatoCompilado automato, char[] cadeia) {
+        return estadoFinal(automato, cadeia, numeroTrechos(cadeia.length));
+    }
+
+    /**
+     * Processa uma cadeia de símbolos dividida em um número dado de trechos,
+     * independentemente do tamanho da cadeia e dos processadores disponíveis.
+     * @param automato autômato que processa a cadeia.
+     * @param cadeia símbolos a serem lidos.
+     * @param divisoes número de trechos, limitado ao número de símbolos.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     */
+    static int estadoFinal(AutomatoCompilado automato, char[] cadeia, int divisoes) {
+        int partes = Math.max(1, Math.min(divisoes, cadeia.length));
+        if (partes == 1) {
+            return automato.estadoFinal(automato.getEstadoInicial(), cadeia, 0, cadeia.length);
+        }
+        Trecho[] trechos = new Trecho[partes];
+        for (int i = 0; i < partes; i++) {
+            trechos[i] = new TrechoCadeia(
+                automato,
+                cadeia,
+                (int) ((long) cadeia.length * i / partes),
+                (int) ((long) cadeia.length * (i + 1) / partes)
+            );
+        }
+        return compor(trechos);
+    }
+
+    /**
+     * Processa o conteúdo de um arquivo mapeado em paralelo. Cada trecho é
+     * limitado ao tamanho da janela de mapeamento do arquivo.
+     * @param automato autômato que processa o arquivo.
+     * @param arquivo arquivo mapeado.
+     * @return Índice do estado em que o autômato convergiu, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso uma transição não esteja definida.
+     * @throws IOException Caso algum trecho não possa ser mapeado.
+     */
+    static int estadoFinal(AutomatoCompilado automato, ArquivoMapeado arquivo)
+    throws IOException {
+        long dimensao = arquivo.dimensao();
+        long janela = arquivo.getTamanhoJanela() - 1;
+        int partes = (int) Math.max(numeroTrechos(dimensao), (dimensao + janela - 1) / janela);
+        if (partes == 1) {
+            return arquivo.estadoFinal(automato, automato.getEstadoInicial(), 0, dimensao);
+        }
+        Trecho[] trechos = new Trecho[partes];
+        for (int i = 0; i < partes; i++) {
+            long inicio = dimensao * i / partes;
+            long fim = dimensao * (i + 1) / partes;
+            trechos[i] = new TrechoMapeado(automato, arquivo, inicio, (int) (fim - inicio));
+        }
+        try {
+            return compor(trechos);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+}
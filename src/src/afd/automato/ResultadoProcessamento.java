@@ -0,0 +1,58 @@
+package afd.automato;
+
+import afd.estados.Estado;
+
+/**
+ * Resultado do processamento de uma Fita de Entrada sem o registro do histórico.<br>
+ * Contém apenas a indicação de aceitação da palavra e o estado em que o autômato
+ * convergiu após a leitura do último símbolo.
+ * @see Automato#processar(FitaEntrada)
+ * @author Leandro
+ */
+public final class ResultadoProcessamento {
+
+    /**Indica se a palavra foi aceita.*/
+    private final boolean aceita;
+    /**Estado em que o autômato convergiu.*/
+    private final Estado estadoFinal;
+
+    /**
+     * Cria uma instância da classe.
+     * @param aceita indica se a palavra foi aceita.
+     * @param estadoFinal estado em que o autômato convergiu, ou <b>null</b>, caso
+     * o processamento tenha parado em uma transição não definida.
+     */
+    public ResultadoProcessamento(boolean aceita, Estado estadoFinal) {
+        this.aceita = aceita;
+        this.estadoFinal = estadoFinal;
+    }
+
+    /**
+     * Indica se a palavra foi aceita.
+     * @return <b>true</b>, caso a palavra tenha sido aceita, <b>false</b>, caso
+     * tenha sido rejeitada.
+     */
+    public boolean isAceita() {
+        return aceita;
+    }
+
+    /**
+     * Estado em que o autômato convergiu após a leitura do último símbolo.
+     * @return Estado final, ou <b>null</b>, caso o processamento tenha parado
+     * em uma transição não definida (símbolo indefinido).
+     */
+    public Estado getEstadoFinal() {
+        return estadoFinal;
+    }
+
+    /**
+     * Reescrito para retornar as informações do resultado.
+     * @return Informações sobre o resultado.
+     */
+    @Override
+    public String toString() {
+        return "Aceita: " + aceita + ", Estado Final: " +
+        (estadoFinal != null ? estadoFinal.getNome() : "(símbolo indefinido)");
+    }
+
+}
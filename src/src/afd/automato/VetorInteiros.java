@@ -0,0 +1,81 @@
+package afd.automato;
+
+import java.util.Arrays;
+
+/**
+ * Vetor de inteiros que cresce conforme a necessidade.<br>
+ * Os valores são armazenados em um vetor primitivo, sem a criação de um objeto
+ * para cada valor inserido. Ao ser limpo, o vetor mantém a capacidade já
+ * alocada, podendo ser reutilizado sem novas alocações.
+ * @author Leandro
+ */
+public class VetorInteiros {
+
+    /**Valores armazenados.*/
+    private int[] valores;
+    /**Número de valores armazenados.*/
+    private int dimensao;
+
+    /**
+     * Cria uma instância da classe.
+     */
+    public VetorInteiros() {
+        this(16);
+    }
+
+    /**
+     * Cria uma instância da classe com uma capacidade inicial.
+     * @param capacidade número de valores que podem ser inseridos antes que o
+     * vetor precise crescer.
+     */
+    public VetorInteiros(int capacidade) {
+        valores = new int[Math.max(capacidade, 1)];
+    }
+
+    /**
+     * Insere um valor no final do vetor.
+     * @param valor valor a ser inserido.
+     */
+    public void adicionar(int valor) {
+        if (dimensao == valores.length) {
+            valores = Arrays.copyOf(valores, valores.length * 2);
+        }
+        valores[dimensao++] = valor;
+    }
+
+    /**
+     * Retorna o valor em uma posição específica do vetor.
+     * @param indice posição do valor.
+     * @return Valor na posição indicada.
+     */
+    public int get(int indice) {
+        if (indice >= dimensao) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", Dimensão: " + dimensao);
+        }
+        return valores[indice];
+    }
+
+    /**
+     * Retorna o número de valores do vetor.
+     * @return Número de valores do vetor.
+     */
+    public int dimensao() {
+        return dimensao;
+    }
+
+    /**
+     * Remove todos os valores do vetor, mantendo a capacidade alocada.
+     */
+    public void limpar() {
+        dimensao = 0;
+    }
+
+    /**
+     * Retorna uma cópia dos valores do vetor.
+     * @return Vetor com os valores armazenados.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(valores, dimensao);
+    }
+
+}
@@ -0,0 +1,335 @@
+package afd.busca;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.automato.VetorInteiros;
+import afd.ftransicao.TabelaTransicao;
+import java.util.ArrayDeque;
+
+/**
+ * Busca, em um texto, dos trechos aceitos por um autômato, à maneira do
+ * <i>grep</i>.<p>
+ * O texto é lido uma única vez da esquerda para a direita, sem reiniciar o
+ * autômato a partir de cada posição: a cada símbolo, uma nova execução do
+ * autômato é iniciada na posição corrente, e todas as execuções em andamento
+ * avançam juntas. Como execuções que atingem o mesmo estado têm o mesmo futuro,
+ * elas são reunidas em uma só, de modo que nunca há mais execuções que estados, e
+ * as que atingem um estado morto são descartadas. O conjunto dos estados das
+ * execuções corresponde ao estado do autômato de busca para <i>&Sigma;*L</i>,
+ * construído sob demanda, acrescido das posições de início de cada execução.<p>
+ * No modo {@link ModoBusca#MAIS_LONGA_A_ESQUERDA}, execuções reunidas mantêm
+ * apenas a posição de início mais à esquerda. No modo {@link ModoBusca#TODAS},
+ * mantêm todas as posições de início, para que cada par (início, fim) seja
+ * informado; nesse modo, o número de ocorrências pode ser quadrático no
+ * tamanho do texto.<p>
+ * A instância não guarda informações das buscas, podendo ser compartilhada
+ * entre threads.
+ * @see ModoBusca
+ * @author Leandro
+ */
+public class Busca {
+
+    /**Autômato que define os trechos procurados.*/
+    private final AutomatoCompilado automato;
+    /**Modo de busca.*/
+    private final ModoBusca modo;
+
+    /**
+     * Conjunto das posições de início de uma execução, representado por uma
+     * folha (uma única posição) ou pela união de dois conjuntos disjuntos.
+     */
+    private static final class Inicios {
+
+        /**Posição de início, nas folhas.*/
+        private final int inicio;
+        /**Primeiro conjunto da união, ou <b>null</b> nas folhas.*/
+        private final Inicios primeiro;
+        /**Segundo conjunto da união, ou <b>null</b> nas folhas.*/
+        private final Inicios segundo;
+
+        Inicios(int inicio) {
+            this.inicio = inicio;
+            this.primeiro = null;
+            this.segundo = null;
+        }
+
+        Inicios(Inicios primeiro, Inicios segundo) {
+            this.inicio = TabelaTransicao.INDEFINIDO;
+            this.primeiro = primeiro;
+            this.segundo = segundo;
+        }
+
+    }
+
+    /**
+     * Visão de uma Fita de Entrada como sequência de caracteres, sem cópia.
+     */
+    private static final class SequenciaFita implements CharSequence {
+
+        /**Fita de Entrada.*/
+        private final FitaEntrada fita;
+
+        SequenciaFita(FitaEntrada fita) {
+            this.fita = fita;
+        }
+
+        @Override
+        public int length() {
+            return fita.dimensao();
+        }
+
+        @Override
+        public char charAt(int indice) {
+            return fita.getCelula(indice);
+        }
+
+        @Override
+        public CharSequence subSequence(int inicio, int fim) {
+            return toString().substring(inicio, fim);
+        }
+
+        @Override
+        public String toString() {
+            return new String(fita.getCadeia());
+        }
+
+    }
+
+    /**
+     * Cria uma instância da classe.
+     * @param automato autômato que define os trechos procurados.
+     * @param modo modo de busca.
+     */
+    public Busca(AutomatoCompilado automato, ModoBusca modo) {
+        this.automato = automato;
+        this.modo = modo;
+    }
+
+    /**
+     * Cria uma instância da classe, a partir da forma compilada do autômato.
+     * @param automato autômato que define os trechos procurados.
+     * @param modo modo de busca.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public Busca(Automato automato, ModoBusca modo) throws Exception {
+        this(automato.compilar(), modo);
+    }
+
+    /**
+     * Autômato que define os trechos procurados.
+     * @return Autômato compilado.
+     */
+    public AutomatoCompilado getAutomato() {
+        return automato;
+    }
+
+    /**
+     * Modo de busca.
+     * @return Modo de busca.
+     */
+    public ModoBusca getModo() {
+        return modo;
+    }
+
+    /**
+     * Localiza as ocorrências em um texto.
+     * @param texto texto a ser percorrido.
+     * @return Pares de posições (início, fim) das ocorrências, em sequência: a
+     * ocorrência <i>i</i> ocupa as posições <i>2i</i> (início) e <i>2i + 1</i>
+     * (posição seguinte ao último símbolo).
+     */
+    public int[] buscar(CharSequence texto) {
+        VetorInteiros pares = new VetorInteiros();
+        buscar(texto, (inicio, fim) -> {
+            pares.adicionar(inicio);
+            pares.adicionar(fim);
+        });
+        return pares.toArray();
+    }
+
+    /**
+     * Localiza as ocorrências na palavra de uma Fita de Entrada.
+     * @param palavra Fita de Entrada a ser percorrida.
+     * @return Pares de posições (início, fim) das ocorrências, como em
+     * {@link #buscar(CharSequence)}.
+     */
+    public int[] buscar(FitaEntrada palavra) {
+        return buscar(new SequenciaFita(palavra));
+    }
+
+    /**
+     * Localiza as ocorrências em um texto, informando-as ao receptor à medida
+     * que são encontradas, em ordem crescente da posição final (e, no modo
+     * {@link ModoBusca#MAIS_LONGA_A_ESQUERDA}, também da posição inicial).
+     * @param texto texto a ser percorrido.
+     * @param receptor receptor das ocorrências.
+     */
+    public void buscar(CharSequence texto, ReceptorOcorrencias receptor) {
+        if (automato.isMorto(automato.getEstadoInicial())) {
+            return;
+        }
+        if (modo == ModoBusca.TODAS) {
+            buscarTodas(texto, receptor);
+        } else {
+            buscarMaisLongas(texto, receptor);
+        }
+    }
+
+    /**
+     * Busca das ocorrências mais longas e mais à esquerda.<br>
+     * As execuções são mantidas em ordem crescente da posição de início. Ao
+     * encontrar uma ocorrência, as execuções iniciadas depois dela são
+     * descartadas e nenhuma outra é iniciada; as restantes prosseguem em busca
+     * de uma ocorrência mais à esquerda ou mais longa. Quando não restam
+     * execuções, a melhor ocorrência é informada e a busca recomeça a partir do
+     * fim dela.
+     * @param texto texto a ser percorrido.
+     * @param receptor receptor das ocorrências.
+     */
+    private void buscarMaisLongas(CharSequence texto, ReceptorOcorrencias receptor) {
+        TabelaTransicao tabela = automato.getTabela();
+        int inicial = automato.getEstadoInicial();
+        int dimensao = texto.length();
+        int[] estado = new int[tabela.dimensaoEstados()];
+        int[] inicio = new int[tabela.dimensaoEstados()];
+        //Estados presentes na lista de execuções corrente (marca == geracao).
+        int[] marca = new int[tabela.dimensaoEstados()];
+        int geracao = 0;
+        int posicao = 0;
+        while (posicao <= dimensao) {
+            int execucoes = 0;
+            int melhorInicio = TabelaTransicao.INDEFINIDO;
+            int melhorFim = TabelaTransicao.INDEFINIDO;
+            geracao++;
+            for (int i = posicao; ; i++) {
+                if (melhorInicio < 0 && marca[inicial] != geracao) {
+                    marca[inicial] = geracao;
+                    estado[execucoes] = inicial;
+                    inicio[execucoes++] = i;
+                }
+                //A primeira execução em estado terminal é a mais à esquerda.
+                for (int e = 0; e < execucoes; e++) {
+                    if (automato.isTerminal(estado[e])) {
+                        melhorInicio = inicio[e];
+                        melhorFim = i;
+                        execucoes = e + 1;
+                        break;
+                    }
+                }
+                if (i == dimensao) {
+                    break;
+                }
+                char simbolo = texto.charAt(i);
+                geracao++;
+                int restantes = 0;
+                for (int e = 0; e < execucoes; e++) {
+                    int destino = tabela.transicao(estado[e], simbolo);
+                    if (!automato.isMorto(destino) && marca[destino] != geracao) {
+                        marca[destino] = geracao;
+                        estado[restantes] = destino;
+                        inicio[restantes++] = inicio[e];
+                    }
+                }
+                execucoes = restantes;
+                if (execucoes == 0 && melhorInicio >= 0) {
+                    break;
+                }
+            }
+            if (melhorInicio < 0) {
+                return;
+            }
+            receptor.ocorrencia(melhorInicio, melhorFim);
+            //Após uma ocorrência vazia, avança um símbolo.
+            posicao = (melhorFim > melhorInicio ? melhorFim : melhorFim + 1);
+        }
+    }
+
+    /**
+     * Busca de todas as ocorrências, inclusive as sobrepostas.<br>
+     * Cada execução guarda o conjunto de suas posições de início, e a reunião de
+     * execuções une os conjuntos sem copiá-los. Sempre que uma execução está em
+     * estado terminal, todas as suas posições de início formam ocorrências que
+     * terminam na posição corrente.
+     * @param texto texto a ser percorrido.
+     * @param receptor receptor das ocorrências.
+     */
+    private void buscarTodas(CharSequence texto, ReceptorOcorrencias receptor) {
+        TabelaTransicao tabela = automato.getTabela();
+        int inicial = automato.getEstadoInicial();
+        int dimensao = texto.length();
+        int[] estado = new int[tabela.dimensaoEstados()];
+        Inicios[] inicios = new Inicios[tabela.dimensaoEstados()];
+        //Posição na lista de execuções de cada estado presente (marca == geracao).
+        int[] execucaoDoEstado = new int[tabela.dimensaoEstados()];
+        int[] marca = new int[tabela.dimensaoEstados()];
+        int geracao = 1;
+        int execucoes = 0;
+        ArrayDeque<Inicios> pilha = new ArrayDeque<>();
+        for (int i = 0; ; i++) {
+            Inicios novo = new Inicios(i);
+            if (marca[inicial] == geracao) {
+                int e = execucaoDoEstado[inicial];
+                inicios[e] = new Inicios(inicios[e], novo);
+            } else {
+                marca[inicial] = geracao;
+                execucaoDoEstado[inicial] = execucoes;
+                estado[execucoes] = inicial;
+                inicios[execucoes++] = novo;
+            }
+            for (int e = 0; e < execucoes; e++) {
+                if (automato.isTerminal(estado[e])) {
+                    informar(inicios[e], i, receptor, pilha);
+                }
+            }
+            if (i == dimensao) {
+                break;
+            }
+            char simbolo = texto.charAt(i);
+            geracao++;
+            int restantes = 0;
+            for (int e = 0; e < execucoes; e++) {
+                int destino = tabela.transicao(estado[e], simbolo);
+                if (automato.isMorto(destino)) {
+                    continue;
+                }
+                if (marca[destino] == geracao) {
+                    int r = execucaoDoEstado[destino];
+                    inicios[r] = new Inicios(inicios[r], inicios[e]);
+                } else {
+                    marca[destino] = geracao;
+                    execucaoDoEstado[destino] = restantes;
+                    estado[restantes] = destino;
+                    inicios[restantes++] = inicios[e];
+                }
+            }
+            for (int e = restantes; e < execucoes; e++) {
+                inicios[e] = null;
+            }
+            execucoes = restantes;
+        }
+    }
+
+    /**
+     * Informa as ocorrências de todas as posições de início de um conjunto,
+     * percorrendo-o com uma pilha explícita.
+     * @param inicios conjunto das posições de início.
+     * @param fim posição final das ocorrências.
+     * @param receptor receptor das ocorrências.
+     * @param pilha pilha auxiliar, vazia.
+     */
+    private static void informar(Inicios inicios, int fim, ReceptorOcorrencias receptor,
+    ArrayDeque<Inicios> pilha) {
+        pilha.push(inicios);
+        while (!pilha.isEmpty()) {
+            Inicios conjunto = pilha.pop();
+            if (conjunto.primeiro == null) {
+                receptor.ocorrencia(conjunto.inicio, fim);
+            } else {
+                pilha.push(conjunto.segundo);
+                pilha.push(conjunto.primeiro);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package afd.busca;
+
+/**
+ * Define quais ocorrências são localizadas na busca em um texto.
+ * <ul>
+ * <li><b>MAIS_LONGA_A_ESQUERDA</b>: as ocorrências não se sobrepõem; entre as
+ * que começam na menor posição possível, é escolhida a mais longa, e a busca
+ * prossegue a partir do fim dela;
+ * <li><b>TODAS</b>: todos os pares de posições (início, fim) cujo trecho do texto
+ * é aceito pelo autômato, inclusive os sobrepostos.
+ * </ul>
+ * @see Busca
+ * @author Leandro
+ */
+public enum ModoBusca {
+
+    /**Ocorrências mais longas e mais à esquerda, sem sobreposição.*/
+    MAIS_LONGA_A_ESQUERDA,
+    /**Todas as ocorrências, inclusive as sobrepostas.*/
+    TODAS
+
+}
@@ -0,0 +1,18 @@
+package afd.busca;
+
+/**
+ * Recebe as ocorrências localizadas por uma {@link Busca}, à medida que são
+ * encontradas.
+ * @see Busca#buscar(CharSequence, ReceptorOcorrencias)
+ * @author Leandro
+ */
+public interface ReceptorOcorrencias {
+
+    /**
+     * Chamado para cada ocorrência localizada.
+     * @param inicio posição do primeiro símbolo da ocorrência no texto.
+     * @param fim posição seguinte ao último símbolo da ocorrência.
+     */
+    void ocorrencia(int inicio, int fim);
+
+}
@@ -16,6 +16,14 @@ public class Estado implements Comparable<Estado> {
     private String nome;
     /**Definição do Estado.*/
     private boolean terminal;
+    /**Identificador do estado no conjunto ao qual pertence, ou -1.*/
+    int id = -1;
+    /**Conjunto ao qual o estado pertence, ou <b>null</b>.*/
+    Estados conjunto;
+    /**Índice numérico do nome, obtido na primeira comparação.*/
+    private int indice;
+    /**Indica se o índice numérico do nome já foi obtido.*/
+    private boolean indiceObtido;
 
     /**
      * Espera o nome do estado e seu tipo, se terminal ou não.
@@ -55,10 +63,25 @@ public class Estado implements Comparable<Estado> {
     /**
      * Define o tipo do estado, se terminal ou não.
      * @param terminal tipo do estado. Se <b>true</b>, indica que ele é terminal,
-     * se <b>false</b>, indica que ele não é.
+     * se <b>false</b>, indica que ele não é. O conjunto ao qual o estado
+     * pertence é atualizado.
      */
     public void setTerminal(boolean terminal) {
         this.terminal = terminal;
+        if (conjunto != null) {
+            conjunto.definirTerminal(this);
+        }
+    }
+
+    /**
+     * Identificador do estado no conjunto dos estados ao qual pertence. O
+     * identificador é um inteiro denso, mantido enquanto o estado pertencer ao
+     * conjunto, e pode ser reaproveitado após a sua remoção.
+     * @return Identificador do estado, ou -1, caso não pertença a um conjunto.
+     * @see Estados
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -74,6 +97,15 @@ public class Estado implements Comparable<Estado> {
         ((Estado)obj).getNome().equals(this.nome) : false);
     }
 
+    /**
+     * Reescrito para manter a coerência com {@link #equals(Object)}.
+     * @return Código hash do nome.
+     */
+    @Override
+    public int hashCode() {
+        return nome.hashCode();
+    }
+
     /**
      * Reescrito para retornar as informações do estado formatada adequadamente.
      * @return informações sobre o Estado.
@@ -84,17 +116,21 @@ public class Estado implements Comparable<Estado> {
     }
 
     /**
-     * Captura o índice numérico presente no nome do estado.
-     * @param nome
-     * @return
+     * Captura o índice numérico presente no nome do estado. O índice é obtido
+     * uma única vez, pois o nome não muda.
+     * @return Índice numérico do nome.
      */
-    private Integer getIndice(String nome) {
-        return new Integer(nome.substring(1, nome.length()));
+    int getIndice() {
+        if (!indiceObtido) {
+            indice = Integer.parseInt(nome.substring(1, nome.length()));
+            indiceObtido = true;
+        }
+        return indice;
     }
 
     @Override
     public int compareTo(Estado estado) {
-        return getIndice(nome).compareTo(getIndice(estado.getNome()));
+        return Integer.compare(getIndice(), estado.getIndice());
     }
     
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package afd.estados;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Conjunto dos estados (Q) da gramática.<br>
@@ -15,13 +20,35 @@ import java.util.Collections;
  * A união destes dois subconjuntos forma o conjunto dos Estados <i>Q</i>. Se
  * ao terminar o processamento da Fita de Entrada o Autômato assumir um estado
  * terminal, a palavra é aceita pela gramática, caso contrário (termina em um
- * estado não-terminal), então a palavra é regeitada pela gramática.
+ * estado não-terminal), então a palavra é regeitada pela gramática.<p>
+ * Os subconjuntos não são cópias: são vistas somente de leitura sobre este
+ * conjunto, que guarda a marca de terminal de cada estado num conjunto de bits
+ * indexado pelo identificador do estado. As marcas são mantidas pelo próprio
+ * estado, em {@link Estado#setTerminal(boolean)}, enquanto ele pertencer ao
+ * conjunto.
  * @author Leandro
  */
-public class Estados {
+public class Estados implements Iterable<Estado> {
 
-    //Vetor de Estados.
+    //Estados por identificador; as posições livres contêm null.
     private final ArrayList<Estado> estados;
+    //Identificador de cada estado, pelo nome.
+    private final HashMap<String, Integer> identificadores;
+    //Identificadores livres, a serem reaproveitados.
+    private final ArrayDeque<Integer> livres;
+    //Estados terminais, pelo identificador.
+    private final BitSet bitsTerminais;
+    //Número de estados terminais.
+    private int numeroTerminais;
+    //Vistas dos subconjuntos, criadas na primeira consulta.
+    private Estados vistaTerminais;
+    private Estados vistaNaoTerminais;
+    //Estados ordenados pelo nome, refeitos sob demanda.
+    private Estado[] ordenados;
+    //Posição de cada estado na ordem, pelo identificador.
+    private int[] posicoes;
+    //Número de alterações realizadas no conjunto.
+    private int versao;
 
     /**
      * Cria uma instância da classe.
@@ -29,6 +56,9 @@ public class Estados {
     public Estados() {
         super();
         estados = new ArrayList<>();
+        identificadores = new HashMap<>();
+        livres = new ArrayDeque<>();
+        bitsTerminais = new BitSet();
     }
 
     /**
@@ -40,28 +70,51 @@ public class Estados {
      * @see Estado
      */
     public Estado getEstado(String nome) {
-        int indice = indiceDe(nome);
-        if (indice >= 0) {
-            return estados.get(indice);
-        } else {
-            return null;
-        }
+        Integer id = identificadores.get(nome);
+        return (id != null ? estados.get(id) : null);
     }
 
     /**
-     * Retorna o índice de um estado no vetor.
+     * Retorna o índice de um estado no vetor, na ordem dos nomes.
      * @param estado nome do estado a ser localizado no vetor.
      * @return índice do estado no vetor.
      */
     public int indiceDe(String estado) {
-        int indice = -1;
-        for (int idx = 0; idx < estados.size(); idx++) {
-            Estado e = estados.get(idx);
-            if (e.getNome().equals(estado)) {
-                indice = idx;
-            }
+        Integer id = identificadores.get(estado);
+        if (id == null) {
+            return -1;
         }
-        return indice;
+        ordenar();
+        return posicoes[id];
+    }
+
+    /**
+     * Retorna o identificador de um estado do conjunto.
+     * @param estado nome do estado.
+     * @return Identificador do estado, ou -1, caso não pertença ao conjunto.
+     * @see Estado#getId()
+     */
+    public int idDe(String estado) {
+        Integer id = identificadores.get(estado);
+        return (id != null ? id : -1);
+    }
+
+    /**
+     * Retorna o estado de um identificador.
+     * @param id identificador do estado.
+     * @return Estado, ou <b>null</b>, caso o identificador esteja livre.
+     */
+    public Estado estadoPorId(int id) {
+        return estados.get(id);
+    }
+
+    /**
+     * Retorna o limite dos identificadores: todos os estados do conjunto têm
+     * identificadores menores que ele.
+     * @return Limite dos identificadores.
+     */
+    public int dimensaoIds() {
+        return estados.size();
     }
 
     /**
@@ -73,23 +126,46 @@ public class Estados {
      * <b>q</b>: letra <i>q</i> do alfabeto;<br>
      * <b>n</b>: Um índice númerico positivo qualquer, não necessáriamente sequencial.<p>
      * <b>Obs.:</b> <i>Para que o estado seja inserido, é necessário que
-     * seu nome seja único, e que obedeça à sintaxe definida.</i>.
+     * seu nome seja único, e que obedeça à sintaxe definida.</i>.<br>
+     * O estado recebe um identificador, um livre ou o seguinte ao maior já
+     * usado. A ordenação é refeita somente na próxima consulta por posição.
+     * Um estado pertence a um único conjunto, que passa a acompanhar as
+     * alterações da sua marca de terminal; para usar o mesmo estado em outro
+     * conjunto, é preciso removê-lo do primeiro ou inserir uma cópia.
      * @param estado estado que será inserido.
      * @return <b>true</b>, caso o estado tenha sido inserido, <b>false</b>, caso
      * não tenha.
+     * @throws Exception Caso o nome do estado seja inválido, ou o estado já
+     * pertença a outro conjunto.
      * @see Estado
      */
     public void inserir(Estado estado) throws Exception {
+        if (estado.conjunto != null && estado.conjunto != this) {
+            throw new Exception("Estado já pertence a outro conjunto.");
+        }
         //Verifica a sintaxe do nome do Estado...
         if (estado.getNome().charAt(0) == 'q') {
             String nome = estado.getNome();
             String indice = nome.substring(1, nome.length());
             try {
                 if (Integer.valueOf(indice) >= 0) {
-                    //Ordena...
-                    if (indiceDe(estado.getNome()) < 0) {
-                        estados.add(estado);
-                        Collections.sort(estados);
+                    if (!identificadores.containsKey(nome)) {
+                        int id;
+                        if (livres.isEmpty()) {
+                            id = estados.size();
+                            estados.add(estado);
+                        } else {
+                            id = livres.pop();
+                            estados.set(id, estado);
+                        }
+                        identificadores.put(nome, id);
+                        estado.id = id;
+                        estado.conjunto = this;
+                        if (estado.isTerminal()) {
+                            bitsTerminais.set(id);
+                            numeroTerminais++;
+                        }
+                        alterado();
                     }
                 } else {
                     throw new Exception("Índice de nome de estado inválido.");
@@ -103,15 +179,24 @@ public class Estados {
     }
 
     /**
-     * Remove o estado do conjunto.
+     * Remove o estado do conjunto. O identificador do estado fica livre.
      * @param estado nome do estado a ser removido.
      * @return <b>true</b>, caso o estado tenha sido removido com sucesso, <b>false</b>,
      * caso não tenha.
      */
     public boolean remover(String estado) {
-        int indice = indiceDe(estado);
-        if (indice >= 0) {
-            estados.remove(indice);
+        Integer id = identificadores.remove(estado);
+        if (id != null) {
+            Estado removido = estados.get(id);
+            removido.id = -1;
+            removido.conjunto = null;
+            if (bitsTerminais.get(id)) {
+                bitsTerminais.clear(id);
+                numeroTerminais--;
+            }
+            estados.set(id, null);
+            livres.push(id);
+            alterado();
             return true;
         }
         return false;
@@ -119,12 +204,13 @@ public class Estados {
 
     /**
      * Retorna uma referência para um determinado estado do conjunto.
-     * @param indice índice do estado.
+     * @param indice índice do estado, na ordem dos nomes.
      * @return referência para o estado ou <b>null</b>, caso o estado não tenha sido
      * encontrado.
      */
     public Estado estadoEm(int indice) {
-        return estados.get(indice);
+        ordenar();
+        return ordenados[indice];
     }
 
     /**
@@ -132,92 +218,310 @@ public class Estados {
      * @return número de estados no conjunto.
      */
     public int dimensao() {
-        return estados.size();
+        return identificadores.size();
     }
 
     /**
      * Remove todos os estados do conjunto.
      */
     public void limpar() {
+        for (Estado estado : estados) {
+            if (estado != null) {
+                estado.id = -1;
+                estado.conjunto = null;
+            }
+        }
         estados.clear();
+        bitsTerminais.clear();
+        numeroTerminais = 0;
+        identificadores.clear();
+        livres.clear();
+        alterado();
     }
 
     /**
-     * Conjunto dos estados definidos como terminais (F).<br>
-     * Num Autômato Finito Determinísco se terminar a leitura da cadeia de
-     * entrada num estado terminal então a palavra <b>é</b> aceita pela gramática.
-     * @return conjunto dos estados terminais.
+     * Retorna o número de alterações (inserções, remoções e mudanças do tipo de
+     * um estado) já realizadas no conjunto. Permite detectar se o conjunto foi
+     * alterado desde uma consulta anterior.
+     * @return Versão do conjunto.
      */
-    public Estados terminais()  {
-        
-        Estados terminais = new Estados() {            
-            /**
-             * Reescrito para retornar <b>null</b> caso se tente chamar este
-             * subconjunto do conjunto dos Estados.
-             */
-            @Override
-            public Estados terminais() {
-                return null;
-            }
-            /**
-             * Reescrito para retornar <b>null</b> caso se tente chamar este
-             * subconjunto do conjunto dos Estados.
-             */
-            @Override
-            public Estados naoTerminais() {
-                return null;
-            }
-        };
-        
-        for (int i = 0; i < estados.size(); i++) {
-            if (estados.get(i).isTerminal()) {
-                try {
-                    terminais.inserir(estados.get(i));
-                } catch (Exception ex) {
+    public int getVersao() {
+        return versao;
+    }
+
+    /**
+     * Percorre os estados do conjunto na ordem dos identificadores, sem copiá-los.
+     * @return Iterador sobre os estados.
+     */
+    @Override
+    public Iterator<Estado> iterator() {
+        return new Iterador(false, false);
+    }
+
+    /**
+     * Atualiza a marca de terminal de um estado do conjunto. Chamado pelo
+     * estado, quando o seu tipo é alterado.
+     * @param estado estado alterado.
+     */
+    void definirTerminal(Estado estado) {
+        if (estado.conjunto == this && estados.get(estado.id) == estado &&
+            bitsTerminais.get(estado.id) != estado.isTerminal()) {
+            bitsTerminais.set(estado.id, estado.isTerminal());
+            numeroTerminais += (estado.isTerminal() ? 1 : -1);
+            versao++;
+        }
+    }
+
+    /**
+     * Registra uma alteração no conjunto, descartando a ordenação.
+     */
+    private void alterado() {
+        versao++;
+        ordenados = null;
+    }
+
+    /**
+     * Refaz a ordenação dos estados pelo nome, caso o conjunto tenha sido
+     * alterado desde a última.
+     */
+    private void ordenar() {
+        if (ordenados == null) {
+            //Ordena pares (índice do nome, identificador), sem comparar objetos.
+            long[] chaves = new long[identificadores.size()];
+            int n = 0;
+            for (int id = 0; id < estados.size(); id++) {
+                if (estados.get(id) != null) {
+                    chaves[n++] = ((long) estados.get(id).getIndice() << 32) | id;
                 }
             }
+            Arrays.sort(chaves);
+            Estado[] _ordenados = new Estado[chaves.length];
+            posicoes = new int[estados.size()];
+            for (int i = 0; i < chaves.length; i++) {
+                int id = (int) chaves[i];
+                _ordenados[i] = estados.get(id);
+                posicoes[id] = i;
+            }
+            ordenados = _ordenados;
         }
-        return terminais;
     }
 
+    /**
+     * Conjunto dos estados definidos como terminais (F).<br>
+     * Num Autômato Finito Determinísco se terminar a leitura da cadeia de
+     * entrada num estado terminal então a palavra <b>é</b> aceita pela gramática.<br>
+     * O subconjunto é uma vista somente de leitura, que acompanha as alterações
+     * deste conjunto.
+     * @return conjunto dos estados terminais.
+     */
+    public Estados terminais() {
+        if (vistaTerminais == null) {
+            vistaTerminais = new Subconjunto(true);
+        }
+        return vistaTerminais;
+    }
 
     /**
      * Conjunto dos estados definidos como não-terminais.<br>
      * Num Autômato Finito Determinísco se terminar a leitura da cadeia de
      * entrada num estado não-terminal então a palavra <b>não é</b> aceita pela
-     * gramática.
+     * gramática.<br>
+     * O subconjunto é uma vista somente de leitura, que acompanha as alterações
+     * deste conjunto.
      * @return conjunto dos estados não-terminais.
      */
     public Estados naoTerminais() {
-        
-        Estados nao_terminais = new Estados() {
-            /**
-             * Reescrito para retornar <b>null</b> caso se tente chamar este
-             * subconjunto do conjunto dos Estados.
-             */
-            @Override
-            public Estados terminais() {
-                return null;
+        if (vistaNaoTerminais == null) {
+            vistaNaoTerminais = new Subconjunto(false);
+        }
+        return vistaNaoTerminais;
+    }
+
+    /**
+     * Iterador sobre os identificadores ocupados, opcionalmente restrito aos
+     * estados terminais ou aos não-terminais.
+     */
+    private final class Iterador implements Iterator<Estado> {
+
+        //Indica se os estados são filtrados pela marca de terminal.
+        private final boolean filtrado;
+        //Marca de terminal dos estados percorridos, caso filtrados.
+        private final boolean terminal;
+        //Identificador do próximo estado, ou -1, ao final.
+        private int proximo;
+
+        Iterador(boolean filtrado, boolean terminal) {
+            this.filtrado = filtrado;
+            this.terminal = terminal;
+            proximo = buscar(0);
+        }
+
+        //Identificador do primeiro estado percorrido a partir de um identificador.
+        private int buscar(int id) {
+            if (filtrado && terminal) {
+                return bitsTerminais.nextSetBit(id);
             }
-            /**
-             * Reescrito para retornar <b>null</b> caso se tente chamar este
-             * subconjunto do conjunto dos Estados.
-             */
-            @Override
-            public Estados naoTerminais() {
-                return null;
-            }            
-        };
-
-        for (int i = 0; i < estados.size(); i++) {
-            if (!estados.get(i).isTerminal()) {
-                try {
-                    nao_terminais.inserir(estados.get(i));
-                } catch (Exception ex) {
+            while (id < estados.size()) {
+                id = (filtrado ? bitsTerminais.nextClearBit(id) : id);
+                if (id < estados.size() && estados.get(id) != null) {
+                    return id;
                 }
+                id++;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximo >= 0;
+        }
+
+        @Override
+        public Estado next() {
+            if (proximo < 0) {
+                throw new NoSuchElementException();
             }
+            Estado estado = estados.get(proximo);
+            proximo = buscar(proximo + 1);
+            return estado;
         }
-        return nao_terminais;
+
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Vista somente de leitura dos estados terminais ou dos não-terminais. As
+     * consultas são respondidas sobre o conjunto de origem; as posições seguem a
+     * ordem dos nomes, percorrida a partir da última posição consultada, de modo
+     * que a leitura em sequência não tem custo adicional.
+     */
+    private final class Subconjunto extends Estados {
+
+        //Marca de terminal dos estados da vista.
+        private final boolean terminal;
+        //Última posição consultada na vista e a correspondente no conjunto.
+        private int indice = -1;
+        private int posicao = -1;
+        //Versão do conjunto em que as posições foram obtidas.
+        private int versaoPosicao = -1;
+
+        Subconjunto(boolean terminal) {
+            this.terminal = terminal;
+        }
+
+        //Verifica se o estado de um identificador pertence à vista.
+        private boolean pertence(int id) {
+            return id >= 0 && Estados.this.estados.get(id) != null &&
+                Estados.this.estados.get(id).conjunto == Estados.this &&
+                bitsTerminais.get(id) == terminal;
+        }
+
+        @Override
+        public Estado getEstado(String nome) {
+            return (pertence(Estados.this.idDe(nome)) ? Estados.this.getEstado(nome) : null);
+        }
+
+        @Override
+        public int indiceDe(String estado) {
+            int id = Estados.this.idDe(estado);
+            if (!pertence(id)) {
+                return -1;
+            }
+            Estados.this.ordenar();
+            int limite = Estados.this.posicoes[id];
+            int indice = 0;
+            for (int i = 0; i < limite; i++) {
+                if (bitsTerminais.get(Estados.this.ordenados[i].id) == terminal) {
+                    indice++;
+                }
+            }
+            return indice;
+        }
+
+        @Override
+        public int idDe(String estado) {
+            int id = Estados.this.idDe(estado);
+            return (pertence(id) ? id : -1);
+        }
+
+        @Override
+        public Estado estadoPorId(int id) {
+            return (pertence(id) ? Estados.this.estadoPorId(id) : null);
+        }
+
+        @Override
+        public int dimensaoIds() {
+            return Estados.this.dimensaoIds();
+        }
+
+        @Override
+        public void inserir(Estado estado) {
+            throw new UnsupportedOperationException("Subconjunto somente para leitura.");
+        }
+
+        @Override
+        public boolean remover(String estado) {
+            throw new UnsupportedOperationException("Subconjunto somente para leitura.");
+        }
+
+        @Override
+        public void limpar() {
+            throw new UnsupportedOperationException("Subconjunto somente para leitura.");
+        }
+
+        @Override
+        public Estado estadoEm(int indice) {
+            if (indice < 0 || indice >= dimensao()) {
+                throw new IndexOutOfBoundsException("Índice: " + indice);
+            }
+            Estados.this.ordenar();
+            if (versaoPosicao != getVersao() || indice < this.indice) {
+                this.indice = -1;
+                posicao = -1;
+                versaoPosicao = getVersao();
+            }
+            Estado[] ordenados = Estados.this.ordenados;
+            while (this.indice < indice) {
+                posicao++;
+                if (bitsTerminais.get(ordenados[posicao].id) == terminal) {
+                    this.indice++;
+                }
+            }
+            return ordenados[posicao];
+        }
+
+        @Override
+        public int dimensao() {
+            return (terminal ? numeroTerminais : Estados.this.dimensao() - numeroTerminais);
+        }
+
+        @Override
+        public int getVersao() {
+            return Estados.this.getVersao();
+        }
+
+        @Override
+        public Iterator<Estado> iterator() {
+            return Estados.this.new Iterador(true, terminal);
+        }
+
+        /**
+         * Reescrito para retornar <b>null</b> caso se tente chamar este
+         * subconjunto do conjunto dos Estados.
+         */
+        @Override
+        public Estados terminais() {
+            return null;
+        }
+
+        /**
+         * Reescrito para retornar <b>null</b> caso se tente chamar este
+         * subconjunto do conjunto dos Estados.
+         */
+        @Override
+        public Estados naoTerminais() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+package afd.filtro;
+
+import afd.automato.ArquivoMapeado;
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.VetorInteiros;
+import afd.ftransicao.TabelaTransicao;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Filtro das linhas de um arquivo de texto pelo autômato, sem interface gráfica.<p>
+ * Cada linha do arquivo é tratada como uma palavra: as linhas aceitas (ou, se
+ * definido, as rejeitadas) são escritas na saída, na ordem original e com os
+ * bytes originais, inclusive o terminador de linha. O terminador <i>\n</i>, e o
+ * <i>\r</i> que o preceder, não fazem parte da palavra. Cada byte é interpretado
+ * como um símbolo do conjunto ISO-8859-1 (Latin-1).<p>
+ * O arquivo é lido diretamente da memória mapeada e dividido em trechos de cerca
+ * de {@link #TAMANHO_TRECHO} bytes, sempre em fins de linha. Os trechos são
+ * processados em paralelo e escritos na saída em ordem, à medida que ficam
+ * prontos, com um número limitado de trechos em andamento.<p>
+ * A instância não guarda informações dos processamentos, podendo ser
+ * compartilhada entre threads.
+ * @see ArquivoMapeado
+ * @author Leandro
+ */
+public class FiltroLinhas {
+
+    /**Tamanho aproximado de cada trecho do arquivo (4 MB).*/
+    public static final int TAMANHO_TRECHO = 1 << 22;
+    /**Tamanho do trecho mapeado na procura de um fim de linha.*/
+    private static final int TAMANHO_PROCURA = 1 << 16;
+
+    /**Autômato que verifica as linhas.*/
+    private final AutomatoCompilado automato;
+    /**Indica se são escritas as linhas aceitas ou as rejeitadas.*/
+    private final boolean aceitas;
+
+    /**
+     * Trecho do arquivo, composto de linhas completas, verificado como uma
+     * tarefa independente.
+     */
+    @SuppressWarnings("serial")
+    private static class Trecho extends RecursiveAction {
+
+        /**Autômato que verifica as linhas.*/
+        private final AutomatoCompilado automato;
+        /**Indica se são selecionadas as linhas aceitas ou as rejeitadas.*/
+        private final boolean aceitas;
+        /**Arquivo mapeado.*/
+        private final ArquivoMapeado arquivo;
+        /**Posição do primeiro byte do trecho.*/
+        private final long inicio;
+        /**Número de bytes do trecho.*/
+        private final int dimensao;
+        /**Conteúdo mapeado do trecho.*/
+        private MappedByteBuffer conteudo;
+        /**Intervalos (início, fim) das linhas selecionadas, já reunidos.*/
+        private final VetorInteiros selecionadas = new VetorInteiros();
+        /**Início do intervalo de linhas selecionadas em formação.*/
+        private int inicioIntervalo;
+        /**Fim do intervalo de linhas selecionadas em formação.*/
+        private int fimIntervalo;
+        /**Número de linhas selecionadas.*/
+        private int linhas;
+
+        Trecho(AutomatoCompilado automato, boolean aceitas, ArquivoMapeado arquivo,
+        long inicio, int dimensao) {
+            this.automato = automato;
+            this.aceitas = aceitas;
+            this.arquivo = arquivo;
+            this.inicio = inicio;
+            this.dimensao = dimensao;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                conteudo = arquivo.mapear(inicio, dimensao);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            TabelaTransicao tabela = automato.getTabela();
+            int inicial = automato.getEstadoInicial();
+            int estado = inicial;
+            //Estado antes da leitura do último byte, para desconsiderar o \r.
+            int anterior = inicial;
+            int inicioLinha = 0;
+            for (int i = 0; i < dimensao; i++) {
+                byte b = conteudo.get(i);
+                if (b == '\n') {
+                    boolean crlf = i > inicioLinha && conteudo.get(i - 1) == '\r';
+                    selecionar(crlf ? anterior : estado, inicioLinha, i + 1);
+                    estado = inicial;
+                    anterior = inicial;
+                    inicioLinha = i + 1;
+                } else {
+                    anterior = estado;
+                    estado = (estado >= 0 ?
+                        tabela.transicao(estado, (char) (b & 0xFF)) : TabelaTransicao.INDEFINIDO);
+                }
+            }
+            //Última linha do arquivo, sem terminador.
+            if (inicioLinha < dimensao) {
+                selecionar(estado, inicioLinha, dimensao);
+            }
+            concluirIntervalo();
+        }
+
+        /**
+         * Registra uma linha, caso seja selecionada, reunindo-a ao intervalo
+         * anterior quando forem contíguos.
+         * @param estado estado do autômato no fim da palavra da linha.
+         * @param inicioLinha posição do primeiro byte da linha no trecho.
+         * @param fimLinha posição seguinte ao terminador da linha.
+         */
+        private void selecionar(int estado, int inicioLinha, int fimLinha) {
+            if (automato.isTerminal(estado) != aceitas) {
+                return;
+            }
+            linhas++;
+            if (fimIntervalo != inicioLinha) {
+                concluirIntervalo();
+                inicioIntervalo = inicioLinha;
+            }
+            fimIntervalo = fimLinha;
+        }
+
+        /**
+         * Registra o intervalo em formação, caso exista.
+         */
+        private void concluirIntervalo() {
+            if (fimIntervalo > inicioIntervalo) {
+                selecionadas.adicionar(inicioIntervalo);
+                selecionadas.adicionar(fimIntervalo);
+            }
+        }
+
+        /**
+         * Escreve as linhas selecionadas do trecho.
+         * @param saida canal de saída.
+         * @throws IOException Caso ocorra um erro na escrita.
+         */
+        void escrever(WritableByteChannel saida) throws IOException {
+            for (int j = 0; j < selecionadas.dimensao(); j += 2) {
+                ByteBuffer intervalo = conteudo.duplicate();
+                intervalo.limit(selecionadas.get(j + 1)).position(selecionadas.get(j));
+                while (intervalo.hasRemaining()) {
+                    saida.write(intervalo);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Cria uma instância da classe, que escreve as linhas aceitas.
+     * @param automato autômato que verifica as linhas.
+     */
+    public FiltroLinhas(AutomatoCompilado automato) {
+        this(automato, true);
+    }
+
+    /**
+     * Cria uma instância da classe.
+     * @param automato autômato que verifica as linhas.
+     * @param aceitas <b>true</b> para escrever as linhas aceitas, <b>false</b>
+     * para escrever as rejeitadas.
+     */
+    public FiltroLinhas(AutomatoCompilado automato, boolean aceitas) {
+        this.automato = automato;
+        this.aceitas = aceitas;
+    }
+
+    /**
+     * Cria uma instância da classe, a partir da forma compilada do autômato.
+     * @param automato autômato que verifica as linhas.
+     * @param aceitas <b>true</b> para escrever as linhas aceitas, <b>false</b>
+     * para escrever as rejeitadas.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public FiltroLinhas(Automato automato, boolean aceitas) throws Exception {
+        this(automato.compilar(), aceitas);
+    }
+
+    /**
+     * Autômato que verifica as linhas.
+     * @return Autômato compilado.
+     */
+    public AutomatoCompilado getAutomato() {
+        return automato;
+    }
+
+    /**
+     * Indica se são escritas as linhas aceitas ou as rejeitadas.
+     * @return <b>true</b>, caso sejam escritas as linhas aceitas, <b>false</b>,
+     * caso sejam escritas as rejeitadas.
+     */
+    public boolean isAceitas() {
+        return aceitas;
+    }
+
+    /**
+     * Filtra as linhas de um arquivo.
+     * @param entrada caminho do arquivo de entrada.
+     * @param saida fluxo que recebe as linhas selecionadas. Não é fechado por
+     * este método.
+     * @return Número de linhas escritas.
+     * @throws IOException Caso ocorra um erro na leitura ou na escrita, ou alguma
+     * linha seja maior que a janela de mapeamento.
+     */
+    public long filtrar(Path entrada, OutputStream saida) throws IOException {
+        WritableByteChannel canal = Channels.newChannel(saida);
+        long escritas = 0;
+        int maximo = ForkJoinPool.getCommonPoolParallelism() * 2;
+        ArrayDeque<Trecho> andamento = new ArrayDeque<>();
+        try (ArquivoMapeado arquivo = new ArquivoMapeado(entrada)) {
+            long inicio = 0;
+            while (inicio < arquivo.dimensao() || !andamento.isEmpty()) {
+                if (inicio < arquivo.dimensao() && andamento.size() < maximo) {
+                    long fim = fimDeLinha(arquivo, Math.min(inicio + TAMANHO_TRECHO, arquivo.dimensao()));
+                    if (fim - inicio > arquivo.getTamanhoJanela()) {
+                        throw new IOException("Linha maior que a janela de mapeamento.");
+                    }
+                    Trecho trecho = new Trecho(automato, aceitas, arquivo, inicio, (int) (fim - inicio));
+                    ForkJoinPool.commonPool().execute(trecho);
+                    andamento.add(trecho);
+                    inicio = fim;
+                } else {
+                    Trecho trecho = andamento.poll();
+                    trecho.join();
+                    trecho.escrever(canal);
+                    escritas += trecho.linhas;
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            for (Trecho trecho : andamento) {
+                trecho.cancel(false);
+            }
+        }
+        saida.flush();
+        return escritas;
+    }
+
+    /**
+     * Localiza o primeiro fim de linha a partir de uma posição do arquivo.
+     * @param arquivo arquivo mapeado.
+     * @param posicao posição a partir da qual o fim de linha é procurado.
+     * @return Posição seguinte ao primeiro <i>\n</i> a partir da posição, ou o
+     * tamanho do arquivo, caso não haja nenhum.
+     * @throws IOException Caso algum trecho não possa ser mapeado.
+     */
+    private static long fimDeLinha(ArquivoMapeado arquivo, long posicao) throws IOException {
+        while (posicao < arquivo.dimensao()) {
+            int tamanho = (int) Math.min(TAMANHO_PROCURA, arquivo.dimensao() - posicao);
+            MappedByteBuffer trecho = arquivo.mapear(posicao, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (trecho.get(i) == '\n') {
+                    return posicao + i + 1;
+                }
+            }
+            posicao += tamanho;
+        }
+        return posicao;
+    }
+
+}
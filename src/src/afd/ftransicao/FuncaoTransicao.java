@@ -5,6 +5,9 @@ import afd.estados.Estado;
 import afd.alfabeto.Alfabeto;
 import afd.alfabeto.Simbolo;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 
 /**
  * Função que determina o conjunto das transições para cada par <b>estado/símbolo</b>.<br>
@@ -86,6 +89,15 @@ public class FuncaoTransicao {
             ((Transicao)obj).getSimbolo().equals(this.simbolo) : false);
         }
 
+        /**
+         * Reescrito para manter a coerência com {@link #equals(Object)}.
+         * @return Código hash do estado de origem e do símbolo.
+         */
+        @Override
+        public int hashCode() {
+            return 31 * origem.hashCode() + simbolo.asCharacter();
+        }
+
         /**
          * Reescrito para retornar as informações do objeto no formato:<p>
          * <h3 align=center>qn -> s = qm</h3><p>
@@ -110,6 +122,15 @@ public class FuncaoTransicao {
     private final Alfabeto alfabeto;
     /**Conjunto das transições do autômato.*/
     private final ArrayList<Transicao> transicoes;
+    /**Transições já definidas, para a verificação de repetição em tempo
+     constante.*/
+    private final HashSet<Transicao> definidas;
+    /**Forma compilada das transições, ou <b>null</b>, caso deva ser refeita.*/
+    private TabelaTransicao tabela;
+    /**Versão do conjunto dos estados quando a tabela foi compilada.*/
+    private int versaoEstados;
+    /**Versão do alfabeto quando a tabela foi compilada.*/
+    private int versaoAlfabeto;
 
     /**
      * Cria uma instância da classe.
@@ -122,6 +143,7 @@ public class FuncaoTransicao {
         this.estados = estados;
         this.alfabeto = alfabeto;
         transicoes = new ArrayList<>();
+        definidas = new HashSet<>();
     }
 
     /**
@@ -147,8 +169,8 @@ public class FuncaoTransicao {
         Estado _destino = estados.getEstado(destino);
         if (_origem != null && _simbolo != null && _destino != null) {
             Transicao transicao = new Transicao(_origem, _simbolo, _destino);
-            int indice = transicoes.indexOf(transicao);
-            if (indice < 0) {
+            if (definidas.add(transicao)) {
+                tabela = null;
                 return transicoes.add(transicao);
             } else {
                 return false;
@@ -168,16 +190,58 @@ public class FuncaoTransicao {
      * não esteja definida.
      */
     public Estado getTransicao(String origem, Character simbolo) {
-        int indice = -1;
-        for (int i = 0; i < transicoes.size(); i++) {
-            Transicao transicao = transicoes.get(i);
-            if (transicao.getEstadoOrigem().getNome().equals(origem) &&
-                transicao.getSimbolo().asCharacter().equals(simbolo)) {
-                indice = i;
-                break;
+        if (simbolo == null) {
+            return null;
+        }
+        TabelaTransicao compilada = compilar();
+        int indice = compilada.indiceEstado(origem);
+        if (indice >= 0) {
+            indice = compilada.transicao(indice, simbolo);
+        }
+        return (indice >= 0 ? estados.getEstado(compilada.nomeEstado(indice)) : null);
+    }
+
+    /**
+     * Retorna a forma compilada da Função de Transição, na qual os estados e os
+     * símbolos são identificados por índices inteiros e cada transição é obtida
+     * com uma única leitura na tabela.<br>
+     * A tabela é mantida enquanto as transições, o conjunto dos estados (inclusive
+     * o tipo de cada estado) e o alfabeto não forem alterados; caso contrário, é
+     * refeita a partir deles.
+     * Transições que façam referência a estados ou símbolos que já não pertençam
+     * aos respectivos conjuntos são ignoradas.
+     * @return Tabela de transição compilada.
+     * @see TabelaTransicao
+     */
+    public TabelaTransicao compilar() {
+        if (tabela == null || versaoEstados != estados.getVersao() ||
+            versaoAlfabeto != alfabeto.getVersao()) {
+            versaoEstados = estados.getVersao();
+            versaoAlfabeto = alfabeto.getVersao();
+            Estado[] _estados = new Estado[estados.dimensao()];
+            HashMap<String, Integer> indices = new HashMap<>(_estados.length * 2);
+            for (int i = 0; i < _estados.length; i++) {
+                _estados[i] = estados.estadoEm(i);
+                indices.put(_estados[i].getNome(), i);
+            }
+            char[] _simbolos = new char[alfabeto.dimensao()];
+            for (int i = 0; i < _simbolos.length; i++) {
+                _simbolos[i] = alfabeto.caractereEm(i);
+            }
+            int[] destinos = new int[Math.multiplyExact(_estados.length, _simbolos.length)];
+            Arrays.fill(destinos, TabelaTransicao.INDEFINIDO);
+            for (int i = 0; i < transicoes.size(); i++) {
+                Transicao transicao = transicoes.get(i);
+                Integer origem = indices.get(transicao.getEstadoOrigem().getNome());
+                int simbolo = Arrays.binarySearch(_simbolos, transicao.getSimbolo().asCharacter());
+                Integer destino = indices.get(transicao.getEstadoDestino().getNome());
+                if (origem != null && simbolo >= 0 && destino != null) {
+                    destinos[origem * _simbolos.length + simbolo] = destino;
+                }
             }
+            tabela = new TabelaTransicao(_estados, _simbolos, destinos);
         }
-        return (indice >= 0 ? transicoes.get(indice).getEstadoDestino() : null);
+        return tabela;
     }
 
     /**
@@ -185,6 +249,8 @@ public class FuncaoTransicao {
      */
     public void limpar() {
         transicoes.clear();
+        definidas.clear();
+        tabela = null;
     }
 
     /**
@@ -0,0 +1,296 @@
+package afd.ftransicao;
+
+import afd.estados.Estado;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Forma compilada da {@link FuncaoTransicao}.<br>
+ * Os estados e os símbolos do alfabeto são mapeados para índices inteiros
+ * densos. Os símbolos que levam aos mesmos destinos em todos os estados são
+ * reunidos em uma mesma <b>classe</b>, e as transições são armazenadas numa
+ * tabela linear, com uma coluna por classe, onde a transição do estado <i>q</i>
+ * com um símbolo da classe <i>c</i> está na posição:<br>
+ * <h3 align=center>q * m + c</h3>
+ * Onde <i>m</i> é o número de classes de símbolos.<br>
+ * A classe de cada caractere é obtida de uma tabela em dois níveis, indexada
+ * pelo byte mais significativo e pelo byte menos significativo do caractere.
+ * Deste modo, cada passo do processamento da Fita de Entrada consiste em
+ * leituras diretas de vetores, em vez de uma busca em todas as transições.<p>
+ * A tabela é imutável, sendo reconstruída pela Função de Transição sempre que
+ * esta, o conjunto dos estados ou o alfabeto forem alterados. Dos estados, são
+ * guardados somente o nome e o tipo no momento da criação; os objetos
+ * {@link Estado} retornados são cópias, de modo que alterações nos estados de
+ * origem, ou nos objetos retornados, não afetam a tabela.
+ * @see FuncaoTransicao
+ * @author Leandro
+ */
+public final class TabelaTransicao {
+
+    /**Valor que indica uma transição não definida, ou um estado/símbolo inexistente.*/
+    public static final int INDEFINIDO = -1;
+
+    /**Nomes dos estados da tabela, na ordem de seus índices.*/
+    private final String[] nomes;
+    /**Tipo dos estados da tabela (terminal ou não), na ordem de seus índices.*/
+    private final boolean[] terminais;
+    /**Símbolos do alfabeto, em ordem crescente.*/
+    private final char[] simbolos;
+    /**Classe de cada símbolo do alfabeto, pelo índice do símbolo.*/
+    private final int[] classeDoSimbolo;
+    /**Número de classes de símbolos.*/
+    private final int classes;
+    /**Primeiro nível da tabela de classes: início do bloco de cada byte alto.*/
+    private final int[] blocos;
+    /**Segundo nível da tabela de classes: blocos de 256 caracteres.*/
+    private final int[] classeDoCaractere;
+    /**Tabela das transições (estado * m + classe -> estado de destino).*/
+    private final int[] destinos;
+    /**Índice de cada estado, pelo nome.*/
+    private final HashMap<String, Integer> indices;
+
+    /**
+     * Coluna da tabela de transição, usada para reunir os símbolos com
+     * os mesmos destinos em todos os estados.
+     */
+    private static class Coluna {
+
+        /**Destinos da coluna, por estado.*/
+        private final int[] destinos;
+        /**Código hash dos destinos.*/
+        private final int hash;
+
+        Coluna(int[] destinos) {
+            this.destinos = destinos;
+            this.hash = Arrays.hashCode(destinos);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Coluna ?
+            Arrays.equals(((Coluna) obj).destinos, destinos) : false);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Cria uma instância da classe.
+     * @param estados estados da tabela, na ordem de seus índices. São copiados
+     * o nome e o tipo de cada estado.
+     * @param simbolos símbolos do alfabeto, em ordem crescente e sem repetições.
+     * @param destinos tabela das transições, com <i>estados.length *
+     * simbolos.length</i> posições, onde a transição do estado <i>q</i> com o
+     * símbolo <i>s</i> está na posição <i>q * simbolos.length + s</i>, contendo o
+     * índice do estado de destino ou {@link #INDEFINIDO}.
+     */
+    public TabelaTransicao(Estado[] estados, char[] simbolos, int[] destinos) {
+        if (destinos.length != Math.multiplyExact(estados.length, simbolos.length)) {
+            throw new IllegalArgumentException("Dimensão da tabela de transição inválida.");
+        }
+        for (int i = 1; i < simbolos.length; i++) {
+            if (simbolos[i - 1] >= simbolos[i]) {
+                throw new IllegalArgumentException("Símbolos fora de ordem ou repetidos.");
+            }
+        }
+        for (int i = 0; i < destinos.length; i++) {
+            if (destinos[i] < INDEFINIDO || destinos[i] >= estados.length) {
+                throw new IllegalArgumentException("Estado de destino inválido.");
+            }
+        }
+        this.nomes = new String[estados.length];
+        this.terminais = new boolean[estados.length];
+        this.simbolos = simbolos.clone();
+        this.indices = new HashMap<>(estados.length * 2);
+        for (int i = 0; i < estados.length; i++) {
+            nomes[i] = estados[i].getNome();
+            terminais[i] = estados[i].isTerminal();
+            indices.put(nomes[i], i);
+        }
+        //Reúne os símbolos cujas colunas são idênticas.
+        int k = simbolos.length;
+        classeDoSimbolo = new int[k];
+        HashMap<Coluna, Integer> colunas = new HashMap<>();
+        int[] representante = new int[k];
+        for (int s = 0; s < k; s++) {
+            int[] coluna = new int[estados.length];
+            for (int q = 0; q < coluna.length; q++) {
+                coluna[q] = destinos[q * k + s];
+            }
+            Integer classe = colunas.putIfAbsent(new Coluna(coluna), colunas.size());
+            if (classe == null) {
+                classe = colunas.size() - 1;
+                representante[classe] = s;
+            }
+            classeDoSimbolo[s] = classe;
+        }
+        classes = colunas.size();
+        this.destinos = new int[Math.multiplyExact(estados.length, classes)];
+        for (int q = 0; q < estados.length; q++) {
+            for (int c = 0; c < classes; c++) {
+                this.destinos[q * classes + c] = destinos[q * k + representante[c]];
+            }
+        }
+        //Monta a tabela de classes em dois níveis. O bloco 0 é compartilhado
+        //pelos bytes altos sem nenhum símbolo no alfabeto.
+        blocos = new int[256];
+        int numBlocos = 1;
+        for (int s = 0; s < k; s++) {
+            int alto = simbolos[s] >>> 8;
+            if (blocos[alto] == 0) {
+                blocos[alto] = (numBlocos++) << 8;
+            }
+        }
+        classeDoCaractere = new int[numBlocos << 8];
+        Arrays.fill(classeDoCaractere, INDEFINIDO);
+        for (int s = 0; s < k; s++) {
+            classeDoCaractere[blocos[simbolos[s] >>> 8] | (simbolos[s] & 0xFF)] =
+                classeDoSimbolo[s];
+        }
+    }
+
+    /**
+     * Número de estados da tabela.
+     * @return Número de estados.
+     */
+    public int dimensaoEstados() {
+        return nomes.length;
+    }
+
+    /**
+     * Número de símbolos do alfabeto da tabela.
+     * @return Número de símbolos.
+     */
+    public int dimensaoAlfabeto() {
+        return simbolos.length;
+    }
+
+    /**
+     * Número de classes de símbolos, ou seja, de colunas distintas da tabela.
+     * @return Número de classes.
+     */
+    public int dimensaoClasses() {
+        return classes;
+    }
+
+    /**
+     * Retorna o índice de um estado na tabela.
+     * @param nome nome do estado.
+     * @return Índice do estado, ou {@link #INDEFINIDO}, caso o estado não
+     * pertença à tabela.
+     */
+    public int indiceEstado(String nome) {
+        Integer indice = indices.get(nome);
+        return (indice != null ? indice : INDEFINIDO);
+    }
+
+    /**
+     * Retorna o índice de um símbolo na tabela.
+     * @param simbolo caractere do símbolo.
+     * @return Índice do símbolo, ou {@link #INDEFINIDO}, caso o símbolo não
+     * pertença ao alfabeto.
+     */
+    public int indiceSimbolo(char simbolo) {
+        int indice = Arrays.binarySearch(simbolos, simbolo);
+        return (indice >= 0 ? indice : INDEFINIDO);
+    }
+
+    /**
+     * Retorna a classe de um caractere.
+     * @param simbolo caractere do símbolo.
+     * @return Classe do símbolo, ou {@link #INDEFINIDO}, caso o caractere não
+     * pertença ao alfabeto.
+     */
+    public int classe(char simbolo) {
+        return classeDoCaractere[blocos[simbolo >>> 8] | (simbolo & 0xFF)];
+    }
+
+    /**
+     * Retorna a classe de um símbolo do alfabeto.
+     * @param simbolo índice do símbolo.
+     * @return Classe do símbolo.
+     */
+    public int classeDoSimbolo(int simbolo) {
+        return classeDoSimbolo[simbolo];
+    }
+
+    /**
+     * Retorna uma cópia do estado de um determinado índice, com o nome e o tipo
+     * registrados na tabela.
+     * @param indice índice do estado.
+     * @return Estado.
+     */
+    public Estado estadoEm(int indice) {
+        return new Estado(nomes[indice], terminais[indice]);
+    }
+
+    /**
+     * Retorna o nome do estado de um determinado índice.
+     * @param indice índice do estado.
+     * @return Nome do estado.
+     */
+    public String nomeEstado(int indice) {
+        return nomes[indice];
+    }
+
+    /**
+     * Indica se o estado de um determinado índice era terminal na criação da
+     * tabela.
+     * @param indice índice do estado.
+     * @return <b>true</b>, caso o estado seja terminal, <b>false</b>, caso não
+     * seja.
+     */
+    public boolean isTerminal(int indice) {
+        return terminais[indice];
+    }
+
+    /**
+     * Retorna o símbolo de um determinado índice.
+     * @param indice índice do símbolo.
+     * @return Caractere do símbolo.
+     */
+    public char simboloEm(int indice) {
+        return simbolos[indice];
+    }
+
+    /**
+     * Obtém o estado de destino pelos índices do estado de origem e do símbolo.
+     * @param origem índice do estado de origem.
+     * @param simbolo índice do símbolo lido.
+     * @return Índice do estado de destino, ou {@link #INDEFINIDO}, caso a
+     * transição não esteja definida.
+     */
+    public int destino(int origem, int simbolo) {
+        return destinos[origem * classes + classeDoSimbolo[simbolo]];
+    }
+
+    /**
+     * Obtém o estado de destino pelos índices do estado de origem e da classe
+     * do símbolo lido.
+     * @param origem índice do estado de origem.
+     * @param classe classe do símbolo lido.
+     * @return Índice do estado de destino, ou {@link #INDEFINIDO}, caso a
+     * transição não esteja definida.
+     */
+    public int destinoClasse(int origem, int classe) {
+        return destinos[origem * classes + classe];
+    }
+
+    /**
+     * Obtém o estado de destino pelo índice do estado de origem e pelo caractere
+     * lido da Fita de Entrada.
+     * @param origem índice do estado de origem.
+     * @param simbolo caractere lido da Fita de Entrada.
+     * @return Índice do estado de destino, ou {@link #INDEFINIDO}, caso o símbolo
+     * não pertença ao alfabeto ou a transição não esteja definida.
+     */
+    public int transicao(int origem, char simbolo) {
+        int classe = classeDoCaractere[blocos[simbolo >>> 8] | (simbolo & 0xFF)];
+        return (classe >= 0 ? destinos[origem * classes + classe] : INDEFINIDO);
+    }
+
+}
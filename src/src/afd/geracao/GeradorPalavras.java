@@ -0,0 +1,398 @@
+package afd.geracao;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.ftransicao.TabelaTransicao;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de palavras aleatórias para testes de carga e entradas de teste, com
+ * semente fixa para que as sequências sejam reproduzíveis.<p>
+ * As palavras aceitas são sorteadas de modo uniforme entre todas as aceitas do
+ * tamanho pedido: a partir do estado inicial, cada símbolo é escolhido com
+ * probabilidade proporcional ao número de palavras que completam uma palavra
+ * aceita a partir do estado de destino. Esses números são calculados uma vez
+ * para cada tamanho restante e guardados em ponto flutuante, normalizados por
+ * tamanho, de modo que não transbordam com o tamanho das palavras; a
+ * uniformidade é exata a menos do arredondamento.<br>
+ * A tabela guarda um vetor de <i>|Q|</i> valores para cada tamanho até o maior
+ * já pedido, e ocupa, portanto, cerca de <i>8 · n · |Q|</i> bytes para palavras
+ * de <i>n</i> símbolos (80 MB para 10<sup>4</sup> símbolos e mil estados). Ela é
+ * mantida entre as chamadas, para que as palavras seguintes não a refaçam, e
+ * pode ser descartada com {@link #descartarPesos()}. As palavras de
+ * {@link ModoGeracao#UNIFORME} não a usam.<p>
+ * As palavras geradas podem ser obtidas uma a uma, por um iterador de
+ * {@link FitaEntrada}, ou escritas em um fluxo, uma por linha.<p>
+ * A instância não deve ser compartilhada entre threads; para gerar em paralelo,
+ * use uma instância por thread, com sementes distintas.
+ * @see ModoGeracao
+ * @author Leandro
+ */
+public class GeradorPalavras {
+
+    /**Número máximo de edições tentadas para obter uma palavra quase aceita.*/
+    public static final int TENTATIVAS = 64;
+    /**Tamanho do buffer de escrita.*/
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    /**Autômato de referência.*/
+    private final AutomatoCompilado automato;
+    /**Tabela de transição do autômato.*/
+    private final TabelaTransicao tabela;
+    /**Índices dos símbolos de cada classe.*/
+    private final int[][] simbolosDaClasse;
+    /**Gerador de números aleatórios.*/
+    private final SplittableRandom aleatorio;
+    /**Peso de cada estado para cada número de símbolos restantes: número de
+     palavras com esse tamanho que levam do estado a um estado terminal,
+     normalizado pelo maior valor do mesmo tamanho.*/
+    private final ArrayList<double[]> pesos = new ArrayList<>();
+    /**Fator de normalização dos pesos de cada número de símbolos restantes.*/
+    private final ArrayList<Double> escalas = new ArrayList<>();
+
+    /**
+     * Cria um gerador de palavras.
+     * @param automato autômato de referência.
+     * @param semente semente do gerador de números aleatórios.
+     */
+    public GeradorPalavras(AutomatoCompilado automato, long semente) {
+        this.automato = automato;
+        this.tabela = automato.getTabela();
+        this.aleatorio = new SplittableRandom(semente);
+        int classes = tabela.dimensaoClasses();
+        int[] dimensoes = new int[classes];
+        for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+            dimensoes[tabela.classeDoSimbolo(s)]++;
+        }
+        simbolosDaClasse = new int[classes][];
+        for (int c = 0; c < classes; c++) {
+            simbolosDaClasse[c] = new int[dimensoes[c]];
+            dimensoes[c] = 0;
+        }
+        for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+            int c = tabela.classeDoSimbolo(s);
+            simbolosDaClasse[c][dimensoes[c]++] = s;
+        }
+        double[] terminais = new double[tabela.dimensaoEstados()];
+        for (int q = 0; q < terminais.length; q++) {
+            terminais[q] = (automato.isTerminal(q) ? 1 : 0);
+        }
+        pesos.add(terminais);
+        escalas.add(1.0);
+    }
+
+    /**
+     * Cria um gerador de palavras, a partir da forma compilada do autômato.
+     * @param automato autômato de referência.
+     * @param semente semente do gerador de números aleatórios.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public GeradorPalavras(Automato automato, long semente) throws Exception {
+        this(automato.compilar(), semente);
+    }
+
+    /**
+     * Autômato de referência.
+     * @return Autômato compilado.
+     */
+    public AutomatoCompilado getAutomato() {
+        return automato;
+    }
+
+    /**
+     * Gera uma palavra.
+     * @param modo tipo da palavra.
+     * @param comprimento tamanho da palavra. As palavras quase aceitas podem ter
+     * um símbolo a mais ou a menos.
+     * @return Fita com a palavra, ou <b>null</b>, caso não exista palavra do
+     * tipo pedido com esse tamanho.
+     */
+    public FitaEntrada gerar(ModoGeracao modo, int comprimento) {
+        char[] palavra = new char[comprimento + 1];
+        int dimensao = gerar(modo, comprimento, palavra);
+        return (dimensao >= 0 ? new FitaEntrada(Arrays.copyOf(palavra, dimensao)) : null);
+    }
+
+    /**
+     * Iterador sobre palavras geradas. A iteração termina antes da quantidade
+     * pedida caso não exista palavra do tipo pedido com esse tamanho.
+     * @param modo tipo das palavras.
+     * @param comprimento tamanho das palavras.
+     * @param quantidade número de palavras.
+     * @return Iterador sobre as fitas das palavras.
+     */
+    public Iterator<FitaEntrada> fitas(ModoGeracao modo, int comprimento, long quantidade) {
+        return new Iterator<FitaEntrada>() {
+
+            /**Número de palavras já geradas.*/
+            private long geradas;
+            /**Próxima palavra, já gerada.*/
+            private FitaEntrada proxima;
+
+            @Override
+            public boolean hasNext() {
+                if (proxima == null && geradas < quantidade) {
+                    proxima = gerar(modo, comprimento);
+                    geradas = (proxima != null ? geradas + 1 : quantidade);
+                }
+                return proxima != null;
+            }
+
+            @Override
+            public FitaEntrada next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                FitaEntrada fita = proxima;
+                proxima = null;
+                return fita;
+            }
+
+        };
+    }
+
+    /**
+     * Escreve palavras geradas em um fluxo, uma por linha, terminadas por
+     * <i>\n</i> e codificadas em ISO-8859-1 (Latin-1), como lidas pelo filtro
+     * de linhas. O alfabeto deve conter somente caracteres de 0 a 255.
+     * @param modo tipo das palavras.
+     * @param comprimento tamanho das palavras.
+     * @param quantidade número de palavras.
+     * @param saida fluxo de saída. Não é fechado por este método.
+     * @return Número de palavras escritas, menor que a quantidade pedida caso
+     * não exista palavra do tipo pedido com esse tamanho.
+     * @throws IOException Caso ocorra um erro na escrita.
+     */
+    public long escrever(ModoGeracao modo, int comprimento, long quantidade, OutputStream saida)
+    throws IOException {
+        return escrever(modo, comprimento, quantidade, saida, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Escreve palavras geradas em um fluxo, uma por linha, terminadas por
+     * <i>\n</i>.<br>
+     * Todos os símbolos do alfabeto devem ser representáveis na codificação;
+     * caso contrário, nada é escrito. Os erros de codificação não são
+     * substituídos por caracteres de troca.
+     * @param modo tipo das palavras.
+     * @param comprimento tamanho das palavras.
+     * @param quantidade número de palavras.
+     * @param saida fluxo de saída. Não é fechado por este método.
+     * @param codificacao codificação dos caracteres.
+     * @return Número de palavras escritas, menor que a quantidade pedida caso
+     * não exista palavra do tipo pedido com esse tamanho.
+     * @throws IOException Caso ocorra um erro na escrita.
+     * @throws IllegalArgumentException Caso algum símbolo do alfabeto não seja
+     * representável na codificação.
+     */
+    public long escrever(ModoGeracao modo, int comprimento, long quantidade, OutputStream saida,
+    Charset codificacao) throws IOException {
+        CharsetEncoder codificador = codificacao.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+            if (!codificador.canEncode(tabela.simboloEm(s))) {
+                throw new IllegalArgumentException("Símbolo U+" +
+                    String.format("%04X", (int) tabela.simboloEm(s)) +
+                    " não representável em " + codificacao.name() + ".");
+            }
+        }
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, codificador), TAMANHO_BUFFER);
+        char[] palavra = new char[comprimento + 2];
+        long escritas = 0;
+        while (escritas < quantidade) {
+            int dimensao = gerar(modo, comprimento, palavra);
+            if (dimensao < 0) {
+                break;
+            }
+            palavra[dimensao] = '\n';
+            escritor.write(palavra, 0, dimensao + 1);
+            escritas++;
+        }
+        escritor.flush();
+        return escritas;
+    }
+
+    /**
+     * Descarta a tabela de pesos das palavras aceitas, liberando a memória
+     * ocupada. A tabela é refeita sob demanda na próxima palavra aceita ou quase
+     * aceita, e a sequência das palavras geradas não é alterada.
+     */
+    public void descartarPesos() {
+        pesos.subList(1, pesos.size()).clear();
+        escalas.subList(1, escalas.size()).clear();
+        pesos.trimToSize();
+        escalas.trimToSize();
+    }
+
+    /**
+     * Gera uma palavra em um vetor.
+     * @param modo tipo da palavra.
+     * @param comprimento tamanho da palavra.
+     * @param destino vetor que recebe a palavra, com ao menos
+     * <i>comprimento + 1</i> posições.
+     * @return Tamanho da palavra gerada, ou -1, caso não exista palavra do tipo
+     * pedido com esse tamanho.
+     */
+    private int gerar(ModoGeracao modo, int comprimento, char[] destino) {
+        switch (modo) {
+            case UNIFORME:
+                return uniforme(comprimento, destino);
+            case ACEITA:
+                return aceita(comprimento, destino);
+            default:
+                return quaseAceita(comprimento, destino);
+        }
+    }
+
+    /**
+     * Gera uma palavra com os símbolos sorteados de modo uniforme.
+     * @param comprimento tamanho da palavra.
+     * @param destino vetor que recebe a palavra.
+     * @return Tamanho da palavra, ou -1, caso o alfabeto seja vazio e o tamanho
+     * não seja zero.
+     */
+    private int uniforme(int comprimento, char[] destino) {
+        int k = tabela.dimensaoAlfabeto();
+        if (k == 0 && comprimento > 0) {
+            return -1;
+        }
+        for (int i = 0; i < comprimento; i++) {
+            destino[i] = tabela.simboloEm(aleatorio.nextInt(k));
+        }
+        return comprimento;
+    }
+
+    /**
+     * Gera uma palavra aceita, sorteada de modo uniforme entre as aceitas do
+     * mesmo tamanho.
+     * @param comprimento tamanho da palavra.
+     * @param destino vetor que recebe a palavra.
+     * @return Tamanho da palavra, ou -1, caso nenhuma palavra desse tamanho
+     * seja aceita.
+     */
+    private int aceita(int comprimento, char[] destino) {
+        int estado = automato.getEstadoInicial();
+        if (pesos(comprimento)[estado] == 0) {
+            return -1;
+        }
+        for (int i = 0; i < comprimento; i++) {
+            double[] restantes = pesos.get(comprimento - i - 1);
+            //O peso do estado, antes da normalização, é a soma dos pesos das classes.
+            double sorteio = aleatorio.nextDouble() * pesos.get(comprimento - i)[estado] *
+                escalas.get(comprimento - i);
+            int classe = -1;
+            double pesoClasse = 0;
+            for (int c = 0; c < simbolosDaClasse.length; c++) {
+                int destinoClasse = tabela.destinoClasse(estado, c);
+                double peso = (destinoClasse >= 0 ?
+                    simbolosDaClasse[c].length * restantes[destinoClasse] : 0);
+                if (peso > 0) {
+                    //Por arredondamento, o sorteio pode passar da última classe com peso.
+                    classe = c;
+                    pesoClasse = peso;
+                    if (sorteio < peso) {
+                        break;
+                    }
+                    sorteio -= peso;
+                }
+            }
+            //O restante do sorteio, uniforme dentro da classe, escolhe o símbolo.
+            int[] simbolos = simbolosDaClasse[classe];
+            int simbolo = (int) (sorteio / pesoClasse * simbolos.length);
+            destino[i] = tabela.simboloEm(simbolos[Math.min(Math.max(simbolo, 0), simbolos.length - 1)]);
+            estado = tabela.destinoClasse(estado, classe);
+        }
+        return comprimento;
+    }
+
+    /**
+     * Gera uma palavra rejeitada por uma única edição de uma palavra aceita.
+     * @param comprimento tamanho da palavra aceita de partida.
+     * @param destino vetor que recebe a palavra.
+     * @return Tamanho da palavra, ou -1, caso nenhuma palavra desse tamanho seja
+     * aceita ou nenhuma das {@link #TENTATIVAS} edições a torne rejeitada.
+     */
+    private int quaseAceita(int comprimento, char[] destino) {
+        int k = tabela.dimensaoAlfabeto();
+        if (k == 0 || aceita(comprimento, destino) < 0) {
+            return -1;
+        }
+        char[] original = Arrays.copyOf(destino, comprimento);
+        for (int tentativa = 0; tentativa < TENTATIVAS; tentativa++) {
+            int dimensao;
+            int edicao = (comprimento > 0 ? aleatorio.nextInt(3) : 1);
+            if (edicao == 0) {
+                //Troca de um símbolo.
+                System.arraycopy(original, 0, destino, 0, comprimento);
+                destino[aleatorio.nextInt(comprimento)] = tabela.simboloEm(aleatorio.nextInt(k));
+                dimensao = comprimento;
+            } else if (edicao == 1) {
+                //Inserção de um símbolo.
+                int posicao = aleatorio.nextInt(comprimento + 1);
+                System.arraycopy(original, 0, destino, 0, posicao);
+                destino[posicao] = tabela.simboloEm(aleatorio.nextInt(k));
+                System.arraycopy(original, posicao, destino, posicao + 1, comprimento - posicao);
+                dimensao = comprimento + 1;
+            } else {
+                //Remoção de um símbolo.
+                int posicao = aleatorio.nextInt(comprimento);
+                System.arraycopy(original, 0, destino, 0, posicao);
+                System.arraycopy(original, posicao + 1, destino, posicao, comprimento - posicao - 1);
+                dimensao = comprimento - 1;
+            }
+            if (!automato.isTerminal(automato.estadoFinal(automato.getEstadoInicial(), destino, 0, dimensao))) {
+                return dimensao;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Pesos dos estados para um número de símbolos restantes, calculados sob
+     * demanda a partir dos pesos de tamanhos menores.
+     * @param restantes número de símbolos restantes.
+     * @return Peso de cada estado.
+     */
+    private double[] pesos(int restantes) {
+        while (pesos.size() <= restantes) {
+            double[] anterior = pesos.get(pesos.size() - 1);
+            double[] atual = new double[anterior.length];
+            double maior = 0;
+            for (int q = 0; q < atual.length; q++) {
+                double soma = 0;
+                for (int c = 0; c < simbolosDaClasse.length; c++) {
+                    int destinoClasse = tabela.destinoClasse(q, c);
+                    if (destinoClasse >= 0) {
+                        soma += simbolosDaClasse[c].length * anterior[destinoClasse];
+                    }
+                }
+                atual[q] = soma;
+                maior = Math.max(maior, soma);
+            }
+            if (maior > 0) {
+                for (int q = 0; q < atual.length; q++) {
+                    atual[q] /= maior;
+                }
+            }
+            pesos.add(atual);
+            escalas.add(maior);
+        }
+        return pesos.get(restantes);
+    }
+
+}
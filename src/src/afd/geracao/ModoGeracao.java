@@ -0,0 +1,25 @@
+package afd.geracao;
+
+/**
+ * Define o tipo das palavras produzidas pelo gerador.
+ * <ul>
+ * <li><b>UNIFORME</b>: palavras aleatórias sobre o alfabeto do autômato, com os
+ * símbolos sorteados de modo uniforme e independente, aceitas ou não;
+ * <li><b>ACEITA</b>: palavras aceitas pelo autômato, sorteadas de modo uniforme
+ * entre todas as aceitas do tamanho pedido;
+ * <li><b>QUASE_ACEITA</b>: palavras rejeitadas pelo autômato obtidas por uma
+ * única edição (troca, inserção ou remoção de um símbolo) de uma palavra aceita.
+ * </ul>
+ * @see GeradorPalavras
+ * @author Leandro
+ */
+public enum ModoGeracao {
+
+    /**Palavras aleatórias sobre o alfabeto.*/
+    UNIFORME,
+    /**Palavras aceitas, uniformes entre as do mesmo tamanho.*/
+    ACEITA,
+    /**Palavras rejeitadas a uma edição de uma palavra aceita.*/
+    QUASE_ACEITA
+
+}
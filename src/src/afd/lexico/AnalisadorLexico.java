@@ -0,0 +1,159 @@
+package afd.lexico;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.ftransicao.TabelaTransicao;
+import afd.operacoes.ProdutoAutomatos;
+import java.util.BitSet;
+
+/**
+ * Analisador léxico formado por vários autômatos, um para cada tipo de token.<p>
+ * Os autômatos são reunidos em um único {@link ProdutoAutomatos}, de modo que o
+ * texto é percorrido uma única vez por todas as definições, em vez de cada
+ * autômato ser testado em cada posição. Cada estado do produto é marcado com o
+ * tipo de token que reconhece: o do primeiro autômato, na ordem informada, que
+ * está em estado terminal na combinação, de forma que os autômatos anteriores
+ * têm prioridade sobre os posteriores.<p>
+ * O texto é dividido pela regra do <i>casamento mais longo</i>: a partir de cada
+ * posição, o token é o trecho mais longo aceito por algum autômato, e a análise
+ * prossegue a partir do fim dele. Os símbolos consecutivos que não iniciam nenhum
+ * token formam um token do tipo {@link #ERRO}. Tokens vazios nunca são
+ * produzidos.<p>
+ * A instância não guarda informações das análises, podendo ser compartilhada
+ * entre threads.
+ * @see BufferTokens
+ * @author Leandro
+ */
+public class AnalisadorLexico {
+
+    /**Tipo dos tokens formados por símbolos não reconhecidos.*/
+    public static final int ERRO = -1;
+
+    /**Autômato produto das definições.*/
+    private final AutomatoCompilado automato;
+    /**Tipo de token de cada estado do produto, ou {@link #ERRO}.*/
+    private final int[] tipos;
+    /**Número de tipos de token.*/
+    private final int dimensaoTipos;
+
+    /**
+     * Cria uma instância da classe.
+     * @param definicoes autômatos que definem os tipos de token, em ordem de
+     * prioridade. O tipo de cada token é o índice do autômato.
+     */
+    public AnalisadorLexico(AutomatoCompilado... definicoes) {
+        ProdutoAutomatos produto = new ProdutoAutomatos(definicoes, false);
+        dimensaoTipos = definicoes.length;
+        tipos = new int[produto.dimensaoEstados()];
+        BitSet terminais = new BitSet(tipos.length);
+        for (int q = 0; q < tipos.length; q++) {
+            tipos[q] = ERRO;
+            for (int i = 0; i < definicoes.length && tipos[q] == ERRO; i++) {
+                if (definicoes[i].isTerminal(produto.componente(q, i))) {
+                    tipos[q] = i;
+                    terminais.set(q);
+                }
+            }
+        }
+        automato = produto.criarAutomato(terminais);
+    }
+
+    /**
+     * Cria uma instância da classe, a partir das formas compiladas dos autômatos.
+     * @param definicoes autômatos que definem os tipos de token, em ordem de
+     * prioridade. O tipo de cada token é o índice do autômato.
+     * @return Analisador léxico.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static AnalisadorLexico criar(Automato... definicoes) throws Exception {
+        AutomatoCompilado[] compilados = new AutomatoCompilado[definicoes.length];
+        for (int i = 0; i < definicoes.length; i++) {
+            compilados[i] = definicoes[i].compilar();
+        }
+        return new AnalisadorLexico(compilados);
+    }
+
+    /**
+     * Autômato produto das definições, cujos estados terminais são os que
+     * reconhecem algum tipo de token.
+     * @return Autômato produto compilado.
+     */
+    public AutomatoCompilado getAutomato() {
+        return automato;
+    }
+
+    /**
+     * Número de tipos de token, ou seja, de autômatos das definições.
+     * @return Número de tipos.
+     */
+    public int dimensaoTipos() {
+        return dimensaoTipos;
+    }
+
+    /**
+     * Tipo de token reconhecido em um estado do autômato produto.
+     * @param estado índice do estado.
+     * @return Tipo do token, ou {@link #ERRO}, caso o estado não seja terminal.
+     */
+    public int tipo(int estado) {
+        return (estado >= 0 ? tipos[estado] : ERRO);
+    }
+
+    /**
+     * Divide um texto em tokens.
+     * @param texto texto a ser analisado.
+     * @return Tokens do texto.
+     */
+    public BufferTokens analisar(CharSequence texto) {
+        BufferTokens tokens = new BufferTokens();
+        analisar(texto, tokens);
+        return tokens;
+    }
+
+    /**
+     * Divide um texto em tokens, registrando-os em um buffer reutilizável.
+     * @param texto texto a ser analisado.
+     * @param tokens buffer que recebe os tokens. O conteúdo anterior é descartado.
+     */
+    public void analisar(CharSequence texto, BufferTokens tokens) {
+        tokens.limpar();
+        TabelaTransicao tabela = automato.getTabela();
+        int inicial = automato.getEstadoInicial();
+        int dimensao = texto.length();
+        int inicioErro = TabelaTransicao.INDEFINIDO;
+        int posicao = 0;
+        while (posicao < dimensao) {
+            //Procura o token mais longo a partir da posição.
+            int tipo = ERRO;
+            int fim = posicao;
+            int estado = inicial;
+            for (int i = posicao; i < dimensao; i++) {
+                estado = tabela.transicao(estado, texto.charAt(i));
+                if (estado < 0) {
+                    break;
+                }
+                if (tipos[estado] != ERRO) {
+                    tipo = tipos[estado];
+                    fim = i + 1;
+                }
+            }
+            if (tipo == ERRO) {
+                if (inicioErro < 0) {
+                    inicioErro = posicao;
+                }
+                posicao++;
+                continue;
+            }
+            if (inicioErro >= 0) {
+                tokens.adicionar(ERRO, inicioErro, posicao);
+                inicioErro = TabelaTransicao.INDEFINIDO;
+            }
+            tokens.adicionar(tipo, posicao, fim);
+            posicao = fim;
+        }
+        if (inicioErro >= 0) {
+            tokens.adicionar(ERRO, inicioErro, dimensao);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package afd.lexico;
+
+import afd.automato.VetorInteiros;
+
+/**
+ * Sequência de tokens produzida pelo {@link AnalisadorLexico}.<br>
+ * Cada token é formado pelo tipo e pelas posições inicial e final no texto,
+ * armazenados em sequência em um vetor primitivo, sem a criação de um objeto
+ * por token. O buffer pode ser reutilizado em várias análises, mantendo a
+ * capacidade já alocada.
+ * @author Leandro
+ */
+public class BufferTokens {
+
+    /**Tipo, início e fim de cada token, em sequência.*/
+    private final VetorInteiros dados;
+
+    /**
+     * Cria uma instância da classe.
+     */
+    public BufferTokens() {
+        this(64);
+    }
+
+    /**
+     * Cria uma instância da classe com uma capacidade inicial.
+     * @param capacidade número de tokens que podem ser inseridos antes que o
+     * buffer precise crescer.
+     */
+    public BufferTokens(int capacidade) {
+        dados = new VetorInteiros(Math.multiplyExact(capacidade, 3));
+    }
+
+    /**
+     * Insere um token no final do buffer.
+     * @param tipo tipo do token.
+     * @param inicio posição do primeiro símbolo do token.
+     * @param fim posição seguinte ao último símbolo do token.
+     */
+    void adicionar(int tipo, int inicio, int fim) {
+        dados.adicionar(tipo);
+        dados.adicionar(inicio);
+        dados.adicionar(fim);
+    }
+
+    /**
+     * Número de tokens do buffer.
+     * @return Número de tokens.
+     */
+    public int dimensao() {
+        return dados.dimensao() / 3;
+    }
+
+    /**
+     * Tipo de um token: o índice do autômato que o reconheceu, na ordem em que
+     * foram informados ao analisador, ou {@link AnalisadorLexico#ERRO}.
+     * @param indice índice do token.
+     * @return Tipo do token.
+     */
+    public int tipo(int indice) {
+        return dados.get(indice * 3);
+    }
+
+    /**
+     * Posição do primeiro símbolo de um token no texto.
+     * @param indice índice do token.
+     * @return Posição inicial do token.
+     */
+    public int inicio(int indice) {
+        return dados.get(indice * 3 + 1);
+    }
+
+    /**
+     * Posição seguinte ao último símbolo de um token no texto.
+     * @param indice índice do token.
+     * @return Posição final do token.
+     */
+    public int fim(int indice) {
+        return dados.get(indice * 3 + 2);
+    }
+
+    /**
+     * Remove todos os tokens, mantendo a capacidade alocada.
+     */
+    public void limpar() {
+        dados.limpar();
+    }
+
+}
@@ -0,0 +1,506 @@
+package afd.operacoes;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.VetorInteiros;
+import afd.ftransicao.TabelaTransicao;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Contagem das palavras aceitas por um autômato, por tamanho.<p>
+ * O número de palavras de tamanho <i>n</i> aceitas é o número de caminhos de
+ * tamanho <i>n</i> do estado inicial até os estados terminais, em que cada
+ * transição pesa o número de símbolos que a realizam. Somente os estados
+ * <b>úteis</b> (atingíveis a partir do estado inicial e não mortos) são
+ * considerados, pois os demais não contribuem para a contagem.<p>
+ * A contagem é feita de duas formas, escolhida a de menor custo estimado:
+ * <ul>
+ * <li>por programação dinâmica, avançando o vetor de caminhos por estado um
+ * símbolo por vez, em tempo <i>O(n a)</i>, onde <i>a</i> é o número de
+ * transições entre estados úteis;
+ * <li>por exponenciação rápida da matriz de transição, em tempo
+ * <i>O(m<sup>3</sup> log n)</i>, onde <i>m</i> é o número de estados úteis,
+ * adequada para valores de <i>n</i> muito grandes.
+ * </ul>
+ * A contagem das palavras de tamanho até <i>n</i> acrescenta à matriz uma linha
+ * e uma coluna que acumulam as aceitações de cada tamanho.<p>
+ * Os métodos que retornam <b>long</b> usam aritmética exata e lançam
+ * {@link ArithmeticException} caso algum valor do cálculo exceda o limite do
+ * tipo; os que retornam {@link BigInteger} não têm limite.
+ * @author Leandro
+ */
+public class ContagemPalavras {
+
+    /**Número de estados úteis.*/
+    private final int estados;
+    /**Índice do estado inicial entre os estados úteis.*/
+    private final int inicial;
+    /**Indica, por estado útil, se é terminal.*/
+    private final boolean[] terminal;
+    /**Início das transições de cada estado útil em destinos e pesos.*/
+    private final int[] inicioTransicoes;
+    /**Estado de destino de cada transição entre estados úteis.*/
+    private final int[] destinos;
+    /**Número de símbolos de cada transição entre estados úteis.*/
+    private final long[] pesos;
+
+    /**
+     * Prepara a contagem das palavras aceitas por um autômato.
+     * @param automato autômato compilado.
+     */
+    public ContagemPalavras(AutomatoCompilado automato) {
+        TabelaTransicao tabela = automato.getTabela();
+        int n = tabela.dimensaoEstados();
+        int classes = tabela.dimensaoClasses();
+        long[] simbolosDaClasse = new long[classes];
+        for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+            simbolosDaClasse[tabela.classeDoSimbolo(s)]++;
+        }
+        //Estados úteis, na ordem da busca em largura a partir do estado inicial.
+        int[] util = new int[n];
+        Arrays.fill(util, TabelaTransicao.INDEFINIDO);
+        int[] fila = new int[n];
+        int m = 0;
+        if (!automato.isMorto(automato.getEstadoInicial())) {
+            util[automato.getEstadoInicial()] = 0;
+            fila[m++] = automato.getEstadoInicial();
+        }
+        for (int i = 0; i < m; i++) {
+            for (int c = 0; c < classes; c++) {
+                int destino = tabela.destinoClasse(fila[i], c);
+                if (!automato.isMorto(destino) && util[destino] < 0) {
+                    util[destino] = m;
+                    fila[m++] = destino;
+                }
+            }
+        }
+        estados = m;
+        inicial = (m > 0 ? 0 : TabelaTransicao.INDEFINIDO);
+        terminal = new boolean[m];
+        //Transições entre estados úteis, com os pesos das classes somados.
+        inicioTransicoes = new int[m + 1];
+        VetorInteiros destinosUteis = new VetorInteiros();
+        long[] pesoDoDestino = new long[m];
+        VetorInteiros tocados = new VetorInteiros();
+        long[] pesosUteis = new long[16];
+        for (int i = 0; i < m; i++) {
+            terminal[i] = automato.isTerminal(fila[i]);
+            tocados.limpar();
+            for (int c = 0; c < classes; c++) {
+                int destino = tabela.destinoClasse(fila[i], c);
+                if (destino >= 0 && util[destino] >= 0) {
+                    if (pesoDoDestino[util[destino]] == 0) {
+                        tocados.adicionar(util[destino]);
+                    }
+                    pesoDoDestino[util[destino]] += simbolosDaClasse[c];
+                }
+            }
+            for (int j = 0; j < tocados.dimensao(); j++) {
+                int destino = tocados.get(j);
+                if (destinosUteis.dimensao() == pesosUteis.length) {
+                    pesosUteis = Arrays.copyOf(pesosUteis, pesosUteis.length * 2);
+                }
+                pesosUteis[destinosUteis.dimensao()] = pesoDoDestino[destino];
+                destinosUteis.adicionar(destino);
+                pesoDoDestino[destino] = 0;
+            }
+            inicioTransicoes[i + 1] = destinosUteis.dimensao();
+        }
+        destinos = destinosUteis.toArray();
+        pesos = Arrays.copyOf(pesosUteis, destinos.length);
+    }
+
+    /**
+     * Prepara a contagem das palavras aceitas por um autômato, a partir da
+     * forma compilada.
+     * @param automato autômato.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public ContagemPalavras(Automato automato) throws Exception {
+        this(automato.compilar());
+    }
+
+    /**
+     * Número de estados úteis do autômato, que determina o custo da contagem.
+     * @return Número de estados úteis.
+     */
+    public int dimensaoEstados() {
+        return estados;
+    }
+
+    /**
+     * Número de palavras de tamanho exatamente <i>n</i> aceitas.
+     * @param n tamanho das palavras.
+     * @return Número de palavras.
+     */
+    public BigInteger contar(long n) {
+        validar(n);
+        if (estados == 0) {
+            return BigInteger.ZERO;
+        }
+        if (usarMatriz(n, estados)) {
+            BigInteger[] v = potenciaGrande(vetorInicialGrande(estados), matrizGrande(false), n);
+            BigInteger total = BigInteger.ZERO;
+            for (int q = 0; q < estados; q++) {
+                if (terminal[q]) {
+                    total = total.add(v[q]);
+                }
+            }
+            return total;
+        }
+        return dinamicaGrande(n, false);
+    }
+
+    /**
+     * Número de palavras de tamanho de 0 a <i>n</i> aceitas.
+     * @param n tamanho máximo das palavras.
+     * @return Número de palavras.
+     */
+    public BigInteger contarAte(long n) {
+        validar(n);
+        if (estados == 0) {
+            return BigInteger.ZERO;
+        }
+        if (usarMatriz(n, estados + 1)) {
+            return potenciaGrande(vetorInicialGrande(estados + 1), matrizGrande(true), n + 1)[estados];
+        }
+        return dinamicaGrande(n, true);
+    }
+
+    /**
+     * Número de palavras de tamanho exatamente <i>n</i> aceitas, em aritmética
+     * de 64 bits.
+     * @param n tamanho das palavras.
+     * @return Número de palavras.
+     * @throws ArithmeticException Caso algum valor do cálculo exceda o limite
+     * do tipo <b>long</b>.
+     */
+    public long contarLong(long n) {
+        validar(n);
+        if (estados == 0) {
+            return 0;
+        }
+        if (usarMatriz(n, estados)) {
+            long[] v = potencia(vetorInicial(estados), matriz(false), n);
+            long total = 0;
+            for (int q = 0; q < estados; q++) {
+                if (terminal[q]) {
+                    total = Math.addExact(total, v[q]);
+                }
+            }
+            return total;
+        }
+        return dinamica(n, false);
+    }
+
+    /**
+     * Número de palavras de tamanho de 0 a <i>n</i> aceitas, em aritmética de
+     * 64 bits.
+     * @param n tamanho máximo das palavras.
+     * @return Número de palavras.
+     * @throws ArithmeticException Caso algum valor do cálculo exceda o limite
+     * do tipo <b>long</b>.
+     */
+    public long contarAteLong(long n) {
+        validar(n);
+        if (estados == 0) {
+            return 0;
+        }
+        if (usarMatriz(n, estados + 1)) {
+            return potencia(vetorInicial(estados + 1), matriz(true), n + 1)[estados];
+        }
+        return dinamica(n, true);
+    }
+
+    /**
+     * Verifica se o tamanho é válido.
+     * @param n tamanho das palavras.
+     */
+    private static void validar(long n) {
+        if (n < 0 || n == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de palavra inválido.");
+        }
+    }
+
+    /**
+     * Compara os custos estimados da programação dinâmica e da exponenciação
+     * da matriz.
+     * @param n tamanho das palavras.
+     * @param dimensao dimensão da matriz.
+     * @return <b>true</b>, caso a exponenciação seja mais barata.
+     */
+    private boolean usarMatriz(long n, int dimensao) {
+        double dinamica = (double) n * (destinos.length + estados);
+        double matriz = Math.pow(dimensao, 3) * 2 * (64 - Long.numberOfLeadingZeros(n));
+        return matriz < dinamica;
+    }
+
+    /**
+     * Contagem por programação dinâmica, em aritmética de 64 bits.
+     * @param n tamanho das palavras.
+     * @param acumular indica se são contadas as palavras de todos os tamanhos
+     * até <i>n</i>.
+     * @return Número de palavras.
+     */
+    private long dinamica(long n, boolean acumular) {
+        long[] atual = new long[estados];
+        long[] proximo = new long[estados];
+        atual[inicial] = 1;
+        long total = (acumular && terminal[inicial] ? 1 : 0);
+        for (long passo = 0; passo < n; passo++) {
+            Arrays.fill(proximo, 0);
+            for (int p = 0; p < estados; p++) {
+                if (atual[p] != 0) {
+                    for (int t = inicioTransicoes[p]; t < inicioTransicoes[p + 1]; t++) {
+                        proximo[destinos[t]] = Math.addExact(proximo[destinos[t]],
+                            Math.multiplyExact(atual[p], pesos[t]));
+                    }
+                }
+            }
+            long[] troca = atual;
+            atual = proximo;
+            proximo = troca;
+            if (acumular) {
+                total = Math.addExact(total, aceitas(atual));
+            }
+        }
+        return (acumular ? total : aceitas(atual));
+    }
+
+    /**
+     * Soma dos caminhos que terminam em estados terminais.
+     * @param caminhos número de caminhos por estado.
+     * @return Número de palavras aceitas.
+     */
+    private long aceitas(long[] caminhos) {
+        long total = 0;
+        for (int q = 0; q < estados; q++) {
+            if (terminal[q]) {
+                total = Math.addExact(total, caminhos[q]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Contagem por programação dinâmica, sem limite de valor.
+     * @param n tamanho das palavras.
+     * @param acumular indica se são contadas as palavras de todos os tamanhos
+     * até <i>n</i>.
+     * @return Número de palavras.
+     */
+    private BigInteger dinamicaGrande(long n, boolean acumular) {
+        BigInteger[] atual = new BigInteger[estados];
+        BigInteger[] proximo = new BigInteger[estados];
+        Arrays.fill(atual, BigInteger.ZERO);
+        atual[inicial] = BigInteger.ONE;
+        BigInteger total = (acumular && terminal[inicial] ? BigInteger.ONE : BigInteger.ZERO);
+        for (long passo = 0; passo < n; passo++) {
+            Arrays.fill(proximo, BigInteger.ZERO);
+            for (int p = 0; p < estados; p++) {
+                if (atual[p].signum() != 0) {
+                    for (int t = inicioTransicoes[p]; t < inicioTransicoes[p + 1]; t++) {
+                        proximo[destinos[t]] = proximo[destinos[t]].add(
+                            atual[p].multiply(BigInteger.valueOf(pesos[t])));
+                    }
+                }
+            }
+            BigInteger[] troca = atual;
+            atual = proximo;
+            proximo = troca;
+            if (acumular) {
+                total = total.add(aceitasGrande(atual));
+            }
+        }
+        return (acumular ? total : aceitasGrande(atual));
+    }
+
+    /**
+     * Soma dos caminhos que terminam em estados terminais.
+     * @param caminhos número de caminhos por estado.
+     * @return Número de palavras aceitas.
+     */
+    private BigInteger aceitasGrande(BigInteger[] caminhos) {
+        BigInteger total = BigInteger.ZERO;
+        for (int q = 0; q < estados; q++) {
+            if (terminal[q]) {
+                total = total.add(caminhos[q]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Vetor com um único caminho, de tamanho zero, no estado inicial.
+     * @param dimensao dimensão do vetor.
+     * @return Vetor inicial.
+     */
+    private long[] vetorInicial(int dimensao) {
+        long[] v = new long[dimensao];
+        v[inicial] = 1;
+        return v;
+    }
+
+    /**
+     * Vetor com um único caminho, de tamanho zero, no estado inicial.
+     * @param dimensao dimensão do vetor.
+     * @return Vetor inicial.
+     */
+    private BigInteger[] vetorInicialGrande(int dimensao) {
+        BigInteger[] v = new BigInteger[dimensao];
+        Arrays.fill(v, BigInteger.ZERO);
+        v[inicial] = BigInteger.ONE;
+        return v;
+    }
+
+    /**
+     * Matriz de transição entre os estados úteis, onde a posição <i>(p, q)</i>
+     * contém o número de símbolos que levam de <i>p</i> a <i>q</i>.
+     * @param acumular indica se é acrescentado o estado que acumula as
+     * aceitações, com uma transição de cada estado terminal e uma para si mesmo.
+     * @return Matriz de transição.
+     */
+    private long[][] matriz(boolean acumular) {
+        int dimensao = estados + (acumular ? 1 : 0);
+        long[][] matriz = new long[dimensao][dimensao];
+        for (int p = 0; p < estados; p++) {
+            for (int t = inicioTransicoes[p]; t < inicioTransicoes[p + 1]; t++) {
+                matriz[p][destinos[t]] = pesos[t];
+            }
+            if (acumular && terminal[p]) {
+                matriz[p][estados] = 1;
+            }
+        }
+        if (acumular) {
+            matriz[estados][estados] = 1;
+        }
+        return matriz;
+    }
+
+    /**
+     * Matriz de transição entre os estados úteis, como em {@link #matriz(boolean)}.
+     * @param acumular indica se é acrescentado o estado que acumula as aceitações.
+     * @return Matriz de transição.
+     */
+    private BigInteger[][] matrizGrande(boolean acumular) {
+        long[][] matriz = matriz(acumular);
+        BigInteger[][] grande = new BigInteger[matriz.length][matriz.length];
+        for (int i = 0; i < matriz.length; i++) {
+            for (int j = 0; j < matriz.length; j++) {
+                grande[i][j] = BigInteger.valueOf(matriz[i][j]);
+            }
+        }
+        return grande;
+    }
+
+    /**
+     * Calcula <i>v M<sup>k</sup></i> por exponenciação rápida.
+     * @param v vetor.
+     * @param m matriz, que é alterada.
+     * @param k expoente.
+     * @return Produto do vetor pela potência da matriz.
+     */
+    private static long[] potencia(long[] v, long[][] m, long k) {
+        while (k > 0) {
+            if ((k & 1) != 0) {
+                v = multiplicar(v, m);
+            }
+            k >>>= 1;
+            if (k > 0) {
+                m = multiplicar(m, m);
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Produto de um vetor por uma matriz.
+     * @param v vetor.
+     * @param m matriz.
+     * @return Vetor resultante.
+     */
+    private static long[] multiplicar(long[] v, long[][] m) {
+        long[] r = new long[v.length];
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != 0) {
+                for (int j = 0; j < v.length; j++) {
+                    if (m[i][j] != 0) {
+                        r[j] = Math.addExact(r[j], Math.multiplyExact(v[i], m[i][j]));
+                    }
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Produto de duas matrizes.
+     * @param a primeira matriz.
+     * @param b segunda matriz.
+     * @return Matriz resultante.
+     */
+    private static long[][] multiplicar(long[][] a, long[][] b) {
+        long[][] r = new long[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            r[i] = multiplicar(a[i], b);
+        }
+        return r;
+    }
+
+    /**
+     * Calcula <i>v M<sup>k</sup></i> por exponenciação rápida.
+     * @param v vetor.
+     * @param m matriz.
+     * @param k expoente.
+     * @return Produto do vetor pela potência da matriz.
+     */
+    private static BigInteger[] potenciaGrande(BigInteger[] v, BigInteger[][] m, long k) {
+        while (k > 0) {
+            if ((k & 1) != 0) {
+                v = multiplicar(v, m);
+            }
+            k >>>= 1;
+            if (k > 0) {
+                m = multiplicar(m, m);
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Produto de um vetor por uma matriz.
+     * @param v vetor.
+     * @param m matriz.
+     * @return Vetor resultante.
+     */
+    private static BigInteger[] multiplicar(BigInteger[] v, BigInteger[][] m) {
+        BigInteger[] r = new BigInteger[v.length];
+        Arrays.fill(r, BigInteger.ZERO);
+        for (int i = 0; i < v.length; i++) {
+            if (v[i].signum() != 0) {
+                for (int j = 0; j < v.length; j++) {
+                    if (m[i][j].signum() != 0) {
+                        r[j] = r[j].add(v[i].multiply(m[i][j]));
+                    }
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Produto de duas matrizes.
+     * @param a primeira matriz.
+     * @param b segunda matriz.
+     * @return Matriz resultante.
+     */
+    private static BigInteger[][] multiplicar(BigInteger[][] a, BigInteger[][] b) {
+        BigInteger[][] r = new BigInteger[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            r[i] = multiplicar(a[i], b);
+        }
+        return r;
+    }
+
+}
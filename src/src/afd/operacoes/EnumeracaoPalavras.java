@@ -0,0 +1,287 @@
+package afd.operacoes;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumeração das palavras aceitas por um autômato, em ordem de tamanho e, entre
+ * as de mesmo tamanho, em ordem lexicográfica pela ordem dos símbolos do
+ * alfabeto.<p>
+ * As palavras de cada tamanho <i>n</i> são geradas por uma busca em
+ * profundidade a partir do estado inicial, que só desce para um estado de onde
+ * algum estado terminal é atingido com exatamente os símbolos restantes. Assim,
+ * todo ramo percorrido produz ao menos uma palavra, os estados mortos nunca são
+ * visitados e a geração não se detém em longas sequências de palavras
+ * rejeitadas. A enumeração termina quando a linguagem é finita e todas as
+ * palavras foram geradas.<p>
+ * A memória usada é a pilha da busca, proporcional ao tamanho da palavra, e os
+ * conjuntos de estados que atingem um estado terminal com cada número de
+ * símbolos, de um bit por estado. A busca de uma palavra de tamanho <i>n</i>
+ * consulta os conjuntos de 0 a <i>n</i> - 1 símbolos, por isso são guardados
+ * todos os calculados. Essa sequência é periódica e deixa de crescer ao se
+ * repetir, mas o período pode ser exponencial no número de estados (por
+ * exemplo, com ciclos de tamanhos primos entre si); no pior caso, são guardados
+ * <i>n</i> + 1 conjuntos, com <i>n</i> o tamanho das palavras em geração, ou
+ * seja, cerca de <i>n</i>·|Q|/8 bytes. Ao passar por tamanhos sem palavras
+ * aceitas, os conjuntos também são calculados, de modo que um único
+ * {@link #hasNext()} pode exigir essa memória para um <i>n</i> bem maior que o
+ * da última palavra. O tamanho máximo das palavras, informado na criação,
+ * limita esse crescimento.<p>
+ * A instância não deve ser compartilhada entre threads.
+ * @author Leandro
+ */
+public class EnumeracaoPalavras implements Iterator<String> {
+
+    /**Tabela de transição do autômato.*/
+    private final TabelaTransicao tabela;
+    /**Estado inicial do autômato.*/
+    private final int inicial;
+    /**Tamanho máximo das palavras geradas.*/
+    private final int comprimentoMaximo;
+    /**Estados atingíveis a partir do estado inicial, exceto os mortos.*/
+    private final BitSet atingiveis;
+    /**Estados que atingem um estado terminal com cada número de símbolos,
+     entre os atingíveis a partir do estado inicial.*/
+    private final ArrayList<BitSet> alcance = new ArrayList<>();
+    /**Posição de cada conjunto na sequência de alcance, para detectar a repetição.*/
+    private final HashMap<BitSet, Integer> posicoes = new HashMap<>();
+    /**Início do período da sequência de alcance, ou -1, enquanto não detectado.*/
+    private int inicioPeriodo = -1;
+    /**Tamanho das palavras em geração.*/
+    private int comprimento = -1;
+    /**Profundidade da busca, ou -1 ao concluir um tamanho.*/
+    private int profundidade = -1;
+    /**Estado em cada profundidade da busca.*/
+    private int[] estados = new int[1];
+    /**Próximo símbolo a ser tentado em cada profundidade da busca.*/
+    private int[] proximos = new int[1];
+    /**Símbolos da palavra em formação.*/
+    private char[] palavra = new char[0];
+    /**Próxima palavra, já gerada.*/
+    private String proxima;
+    /**Indica se a enumeração terminou.*/
+    private boolean concluida;
+
+    /**
+     * Prepara a enumeração das palavras aceitas por um autômato.
+     * @param automato autômato compilado.
+     */
+    public EnumeracaoPalavras(AutomatoCompilado automato) {
+        this(automato, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Prepara a enumeração das palavras aceitas por um autômato, até um tamanho
+     * máximo, o que limita a memória usada a cerca de
+     * (<i>comprimentoMaximo</i> + 1)·|Q|/8 bytes.
+     * @param automato autômato compilado.
+     * @param comprimentoMaximo tamanho máximo das palavras geradas.
+     */
+    public EnumeracaoPalavras(AutomatoCompilado automato, int comprimentoMaximo) {
+        if (comprimentoMaximo < 0) {
+            throw new IllegalArgumentException("Tamanho de palavra inválido.");
+        }
+        this.comprimentoMaximo = comprimentoMaximo;
+        tabela = automato.getTabela();
+        inicial = automato.getEstadoInicial();
+        int n = tabela.dimensaoEstados();
+        BitSet terminais = new BitSet(n);
+        atingiveis = new BitSet(n);
+        if (!automato.isMorto(inicial)) {
+            int[] fila = new int[n];
+            int fim = 0;
+            atingiveis.set(inicial);
+            fila[fim++] = inicial;
+            for (int i = 0; i < fim; i++) {
+                if (automato.isTerminal(fila[i])) {
+                    terminais.set(fila[i]);
+                }
+                for (int c = 0; c < tabela.dimensaoClasses(); c++) {
+                    int destino = tabela.destinoClasse(fila[i], c);
+                    if (!automato.isMorto(destino) && !atingiveis.get(destino)) {
+                        atingiveis.set(destino);
+                        fila[fim++] = destino;
+                    }
+                }
+            }
+        }
+        registrar(terminais);
+    }
+
+    /**
+     * Prepara a enumeração das palavras aceitas por um autômato, a partir da
+     * forma compilada.
+     * @param automato autômato.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public EnumeracaoPalavras(Automato automato) throws Exception {
+        this(automato.compilar());
+    }
+
+    /**
+     * Fluxo das palavras aceitas por um autômato, na ordem da enumeração.
+     * @param automato autômato compilado.
+     * @return Fluxo sequencial e ordenado das palavras.
+     */
+    public static Stream<String> fluxo(AutomatoCompilado automato) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            new EnumeracaoPalavras(automato),
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Fluxo das palavras aceitas por um autômato de tamanho até um máximo, na
+     * ordem da enumeração.
+     * @param automato autômato compilado.
+     * @param comprimentoMaximo tamanho máximo das palavras.
+     * @return Fluxo sequencial e ordenado das palavras.
+     */
+    public static Stream<String> fluxo(AutomatoCompilado automato, int comprimentoMaximo) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            new EnumeracaoPalavras(automato, comprimentoMaximo),
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Fluxo das palavras aceitas por um autômato, na ordem da enumeração.
+     * @param automato autômato.
+     * @return Fluxo sequencial e ordenado das palavras.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public static Stream<String> fluxo(Automato automato) throws Exception {
+        return fluxo(automato.compilar());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (proxima == null && !concluida) {
+            proxima = gerar();
+            concluida = (proxima == null);
+        }
+        return proxima != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String palavraGerada = proxima;
+        proxima = null;
+        return palavraGerada;
+    }
+
+    /**
+     * Tamanho das palavras em geração. Todas as palavras aceitas de tamanho
+     * menor já foram geradas.
+     * @return Tamanho das palavras, ou -1, antes da primeira palavra.
+     */
+    public int getComprimento() {
+        return comprimento;
+    }
+
+    /**
+     * Gera a próxima palavra, continuando a busca do ponto em que parou.
+     * @return Próxima palavra, ou <b>null</b>, caso não haja mais palavras.
+     */
+    private String gerar() {
+        int k = tabela.dimensaoAlfabeto();
+        while (true) {
+            if (profundidade < 0) {
+                //Inicia o próximo tamanho, caso ainda haja palavras.
+                if (comprimento == comprimentoMaximo) {
+                    return null;
+                }
+                comprimento++;
+                if (alcance(comprimento).isEmpty()) {
+                    return null;
+                }
+                if (!alcance(comprimento).get(inicial)) {
+                    continue;
+                }
+                if (estados.length <= comprimento) {
+                    estados = new int[comprimento * 2 + 1];
+                    proximos = new int[comprimento * 2 + 1];
+                    palavra = new char[comprimento * 2];
+                }
+                profundidade = 0;
+                estados[0] = inicial;
+                proximos[0] = 0;
+            }
+            if (profundidade == comprimento) {
+                profundidade--;
+                return new String(palavra, 0, comprimento);
+            }
+            int restantes = comprimento - profundidade - 1;
+            boolean desceu = false;
+            for (int s = proximos[profundidade]; s < k && !desceu; s++) {
+                int destino = tabela.destino(estados[profundidade], s);
+                if (destino >= 0 && alcance(restantes).get(destino)) {
+                    proximos[profundidade] = s + 1;
+                    palavra[profundidade] = tabela.simboloEm(s);
+                    profundidade++;
+                    estados[profundidade] = destino;
+                    proximos[profundidade] = 0;
+                    desceu = true;
+                }
+            }
+            if (!desceu) {
+                profundidade--;
+            }
+        }
+    }
+
+    /**
+     * Estados que atingem um estado terminal com exatamente um número de
+     * símbolos, calculados sob demanda.
+     * @param simbolos número de símbolos.
+     * @return Conjunto dos estados.
+     */
+    private BitSet alcance(int simbolos) {
+        while (inicioPeriodo < 0 && alcance.size() <= simbolos) {
+            BitSet anterior = alcance.get(alcance.size() - 1);
+            BitSet atual = new BitSet(tabela.dimensaoEstados());
+            for (int q = atingiveis.nextSetBit(0); q >= 0; q = atingiveis.nextSetBit(q + 1)) {
+                for (int c = 0; c < tabela.dimensaoClasses(); c++) {
+                    int destino = tabela.destinoClasse(q, c);
+                    if (destino >= 0 && anterior.get(destino)) {
+                        atual.set(q);
+                        break;
+                    }
+                }
+            }
+            registrar(atual);
+        }
+        if (simbolos < alcance.size()) {
+            return alcance.get(simbolos);
+        }
+        int periodo = alcance.size() - inicioPeriodo;
+        return alcance.get(inicioPeriodo + (simbolos - inicioPeriodo) % periodo);
+    }
+
+    /**
+     * Acrescenta um conjunto à sequência de alcance, ou registra o início do
+     * período, caso o conjunto já tenha ocorrido.
+     * @param conjunto estados que atingem um estado terminal com o próximo
+     * número de símbolos.
+     */
+    private void registrar(BitSet conjunto) {
+        Integer posicao = posicoes.putIfAbsent(conjunto, alcance.size());
+        if (posicao != null) {
+            inicioPeriodo = posicao;
+        } else {
+            alcance.add(conjunto);
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package afd.operacoes;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import afd.automato.VetorInteiros;
+import afd.ftransicao.TabelaTransicao;
+import java.util.Arrays;
+
+/**
+ * Verificação de equivalência e de inclusão entre as linguagens aceitas por
+ * dois autômatos.<p>
+ * A equivalência é verificada pelo algoritmo de Hopcroft e Karp: partindo do
+ * par de estados iniciais, os pares de estados que precisam ser equivalentes são
+ * reunidos em uma estrutura de <i>união e busca</i> (union-find), e um par só é
+ * examinado se seus estados ainda estiverem em classes distintas. Cada união
+ * reduz o número de classes, de modo que no máximo <i>n<sub>1</sub> +
+ * n<sub>2</sub></i> pares são examinados, em tempo quase linear. Os autômatos
+ * não são equivalentes caso algum par examinado tenha um estado terminal e
+ * outro não.<p>
+ * Quando os autômatos diferem, a menor palavra que os distingue é obtida por uma
+ * busca em largura sobre os pares de estados atingíveis, interrompida no
+ * primeiro par com status de terminal diferentes.<p>
+ * A inclusão <i>L(A) &sube; L(B)</i> é verificada como a equivalência entre
+ * <i>A &cup; B</i> e <i>B</i>, sendo a palavra que as distingue uma palavra
+ * aceita por <i>A</i> e rejeitada por <i>B</i>.<p>
+ * Os estados mortos e as transições indefinidas são tratados como um único
+ * estado de erro, comum aos dois autômatos. Quando os alfabetos diferem, os
+ * símbolos de um alfabeto ausentes do outro levam a esse estado de erro.
+ * @see OperacoesBooleanas
+ * @author Leandro
+ */
+public class Equivalencia {
+
+    private Equivalencia() {
+    }
+
+    /**
+     * Verifica se dois autômatos aceitam a mesma linguagem.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return <b>true</b>, caso as linguagens sejam iguais, <b>false</b>, caso
+     * contrário.
+     */
+    public static boolean equivalentes(AutomatoCompilado a, AutomatoCompilado b) {
+        char[] representantes = representantes(a, b);
+        int na = a.dimensaoEstados();
+        int erro = na + b.dimensaoEstados();
+        //Estrutura de união e busca sobre os estados dos dois autômatos e o erro.
+        int[] pai = new int[erro + 1];
+        for (int i = 0; i < pai.length; i++) {
+            pai[i] = i;
+        }
+        VetorInteiros pendentes = new VetorInteiros();
+        int inicialA = no(a, a.getEstadoInicial(), 0, erro);
+        int inicialB = no(b, b.getEstadoInicial(), na, erro);
+        if (inicialA != inicialB) {
+            pai[inicialA] = inicialB;
+            pendentes.adicionar(inicialA);
+            pendentes.adicionar(inicialB);
+        }
+        for (int i = 0; i < pendentes.dimensao(); i += 2) {
+            int p = pendentes.get(i);
+            int q = pendentes.get(i + 1);
+            if (terminal(a, b, p, na, erro) != terminal(a, b, q, na, erro)) {
+                return false;
+            }
+            for (char simbolo : representantes) {
+                int destinoP = destino(a, b, p, simbolo, na, erro);
+                int destinoQ = destino(a, b, q, simbolo, na, erro);
+                int raizP = raiz(pai, destinoP);
+                int raizQ = raiz(pai, destinoQ);
+                if (raizP != raizQ) {
+                    pai[raizP] = raizQ;
+                    pendentes.adicionar(destinoP);
+                    pendentes.adicionar(destinoQ);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtém a menor palavra aceita por exatamente um dos autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Fita de Entrada com a menor palavra que distingue os autômatos, ou
+     * <b>null</b>, caso sejam equivalentes. Entre as palavras de mesmo
+     * tamanho, é retornada a primeira na ordem dos símbolos.
+     */
+    public static FitaEntrada contraExemplo(AutomatoCompilado a, AutomatoCompilado b) {
+        if (equivalentes(a, b)) {
+            return null;
+        }
+        char[] representantes = representantes(a, b);
+        long radical = b.dimensaoEstados() + 1L;
+        MapaChaves visitados = new MapaChaves();
+        //Pares em ordem de descoberta, com o par e o símbolo que os originaram.
+        VetorInteiros pares = new VetorInteiros();
+        VetorInteiros origens = new VetorInteiros();
+        StringBuilder simbolos = new StringBuilder();
+        int inicialA = normalizar(a, a.getEstadoInicial());
+        int inicialB = normalizar(b, b.getEstadoInicial());
+        visitados.inserir((inicialA + 1) * radical + inicialB + 1, 0);
+        pares.adicionar(inicialA);
+        pares.adicionar(inicialB);
+        origens.adicionar(TabelaTransicao.INDEFINIDO);
+        simbolos.append('\0');
+        for (int i = 0; ; i++) {
+            int p = pares.get(2 * i);
+            int q = pares.get(2 * i + 1);
+            if (a.isTerminal(p) != b.isTerminal(q)) {
+                return palavra(i, origens, simbolos);
+            }
+            for (char simbolo : representantes) {
+                int destinoP = (p >= 0 ?
+                    normalizar(a, a.getTabela().transicao(p, simbolo)) : TabelaTransicao.INDEFINIDO);
+                int destinoQ = (q >= 0 ?
+                    normalizar(b, b.getTabela().transicao(q, simbolo)) : TabelaTransicao.INDEFINIDO);
+                int novo = origens.dimensao();
+                if (visitados.inserir((destinoP + 1) * radical + destinoQ + 1, novo) == novo) {
+                    pares.adicionar(destinoP);
+                    pares.adicionar(destinoQ);
+                    origens.adicionar(i);
+                    simbolos.append(simbolo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica se a linguagem do primeiro autômato está contida na do segundo,
+     * ou seja, se toda palavra aceita pelo primeiro é aceita pelo segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return <b>true</b>, caso <i>L(a) &sube; L(b)</i>, <b>false</b>, caso
+     * contrário.
+     */
+    public static boolean contido(AutomatoCompilado a, AutomatoCompilado b) {
+        return equivalentes(OperacoesBooleanas.uniao(a, b), b);
+    }
+
+    /**
+     * Obtém a menor palavra aceita pelo primeiro autômato e rejeitada pelo
+     * segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Fita de Entrada com a menor palavra de <i>L(a) - L(b)</i>, ou
+     * <b>null</b>, caso <i>L(a) &sube; L(b)</i>.
+     */
+    public static FitaEntrada contraExemploInclusao(AutomatoCompilado a, AutomatoCompilado b) {
+        return contraExemplo(OperacoesBooleanas.uniao(a, b), b);
+    }
+
+    /**
+     * Verifica se dois autômatos aceitam a mesma linguagem.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return <b>true</b>, caso as linguagens sejam iguais, <b>false</b>, caso
+     * contrário.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static boolean equivalentes(Automato a, Automato b) throws Exception {
+        return equivalentes(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Obtém a menor palavra aceita por exatamente um dos autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Fita de Entrada com a menor palavra que distingue os autômatos, ou
+     * <b>null</b>, caso sejam equivalentes.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static FitaEntrada contraExemplo(Automato a, Automato b) throws Exception {
+        return contraExemplo(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Verifica se a linguagem do primeiro autômato está contida na do segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return <b>true</b>, caso <i>L(a) &sube; L(b)</i>, <b>false</b>, caso
+     * contrário.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static boolean contido(Automato a, Automato b) throws Exception {
+        return contido(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Obtém a menor palavra aceita pelo primeiro autômato e rejeitada pelo
+     * segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Fita de Entrada com a menor palavra de <i>L(a) - L(b)</i>, ou
+     * <b>null</b>, caso <i>L(a) &sube; L(b)</i>.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static FitaEntrada contraExemploInclusao(Automato a, Automato b) throws Exception {
+        return contraExemploInclusao(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Um símbolo de cada classe do alfabeto comum: símbolos que pertencem às
+     * mesmas classes nos dois autômatos são indistinguíveis, e basta examinar
+     * um deles.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Símbolos representantes, em ordem crescente.
+     */
+    private static char[] representantes(AutomatoCompilado a, AutomatoCompilado b) {
+        TabelaTransicao ta = a.getTabela();
+        TabelaTransicao tb = b.getTabela();
+        char[] todos = new char[ta.dimensaoAlfabeto() + tb.dimensaoAlfabeto()];
+        for (int s = 0; s < ta.dimensaoAlfabeto(); s++) {
+            todos[s] = ta.simboloEm(s);
+        }
+        for (int s = 0; s < tb.dimensaoAlfabeto(); s++) {
+            todos[ta.dimensaoAlfabeto() + s] = tb.simboloEm(s);
+        }
+        Arrays.sort(todos);
+        MapaChaves assinaturas = new MapaChaves();
+        long radical = tb.dimensaoClasses() + 1L;
+        int distintos = 0;
+        for (char simbolo : todos) {
+            long chave = (ta.classe(simbolo) + 1) * radical + tb.classe(simbolo) + 1;
+            if (assinaturas.inserir(chave, distintos) == distintos) {
+                todos[distintos++] = simbolo;
+            }
+        }
+        return Arrays.copyOf(todos, distintos);
+    }
+
+    /**
+     * Trata um estado morto como o estado indefinido.
+     * @param automato autômato do estado.
+     * @param estado índice do estado.
+     * @return Índice do estado, ou {@link TabelaTransicao#INDEFINIDO}.
+     */
+    private static int normalizar(AutomatoCompilado automato, int estado) {
+        return (automato.isMorto(estado) ? TabelaTransicao.INDEFINIDO : estado);
+    }
+
+    /**
+     * Nó da estrutura de união e busca correspondente a um estado.
+     * @param automato autômato do estado.
+     * @param estado índice do estado no autômato.
+     * @param deslocamento posição do primeiro estado do autômato entre os nós.
+     * @param erro nó do estado de erro.
+     * @return Índice do nó.
+     */
+    private static int no(AutomatoCompilado automato, int estado, int deslocamento, int erro) {
+        return (automato.isMorto(estado) ? erro : deslocamento + estado);
+    }
+
+    /**
+     * Indica se o estado de um nó é terminal.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @param no índice do nó.
+     * @param na número de estados do primeiro autômato.
+     * @param erro nó do estado de erro.
+     * @return <b>true</b>, caso o estado seja terminal.
+     */
+    private static boolean terminal(AutomatoCompilado a, AutomatoCompilado b, int no,
+    int na, int erro) {
+        if (no == erro) {
+            return false;
+        }
+        return (no < na ? a.isTerminal(no) : b.isTerminal(no - na));
+    }
+
+    /**
+     * Nó de destino da transição do estado de um nó com um símbolo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @param no índice do nó de origem.
+     * @param simbolo símbolo lido.
+     * @param na número de estados do primeiro autômato.
+     * @param erro nó do estado de erro.
+     * @return Índice do nó de destino.
+     */
+    private static int destino(AutomatoCompilado a, AutomatoCompilado b, int no,
+    char simbolo, int na, int erro) {
+        if (no == erro) {
+            return erro;
+        }
+        if (no < na) {
+            return no(a, a.getTabela().transicao(no, simbolo), 0, erro);
+        }
+        return no(b, b.getTabela().transicao(no - na, simbolo), na, erro);
+    }
+
+    /**
+     * Raiz da classe de um nó na estrutura de união e busca, encurtando o
+     * caminho percorrido pela metade.
+     * @param pai pai de cada nó.
+     * @param no índice do nó.
+     * @return Índice da raiz.
+     */
+    private static int raiz(int[] pai, int no) {
+        while (pai[no] != no) {
+            pai[no] = pai[pai[no]];
+            no = pai[no];
+        }
+        return no;
+    }
+
+    /**
+     * Reconstrói a palavra que leva ao par de estados de uma posição da busca.
+     * @param par posição do par na ordem de descoberta.
+     * @param origens posição do par de origem de cada par.
+     * @param simbolos símbolo lido para chegar a cada par.
+     * @return Fita de Entrada com a palavra.
+     */
+    private static FitaEntrada palavra(int par, VetorInteiros origens, StringBuilder simbolos) {
+        int dimensao = 0;
+        for (int i = par; origens.get(i) >= 0; i = origens.get(i)) {
+            dimensao++;
+        }
+        char[] palavra = new char[dimensao];
+        for (int i = par; origens.get(i) >= 0; i = origens.get(i)) {
+            palavra[--dimensao] = simbolos.charAt(i);
+        }
+        return new FitaEntrada(palavra);
+    }
+
+}
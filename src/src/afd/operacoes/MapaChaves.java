@@ -0,0 +1,71 @@
+package afd.operacoes;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de espalhamento de chaves <b>long</b> não negativas para índices,
+ * com endereçamento aberto, sem a criação de objetos por entrada.<br>
+ * Usada nas construções que identificam pares ou combinações de estados por
+ * uma chave numérica.
+ * @see ProdutoAutomatos
+ * @author Leandro
+ */
+class MapaChaves {
+
+    /**Chaves, ou -1 nas posições livres.*/
+    private long[] chaves = new long[1 << 10];
+    /**Valores, pela posição da chave.*/
+    private int[] valores = new int[1 << 10];
+    /**Número de entradas.*/
+    private int dimensao;
+
+    MapaChaves() {
+        Arrays.fill(chaves, -1);
+    }
+
+    /**
+     * Retorna o valor de uma chave, inserindo-a caso não exista.
+     * @param chave chave não negativa.
+     * @param valor valor inserido caso a chave não exista.
+     * @return Valor associado à chave.
+     */
+    int inserir(long chave, int valor) {
+        int mascara = chaves.length - 1;
+        int posicao = (int) (chave * 0x9E3779B97F4A7C15L >>> 32) & mascara;
+        while (chaves[posicao] >= 0) {
+            if (chaves[posicao] == chave) {
+                return valores[posicao];
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        chaves[posicao] = chave;
+        valores[posicao] = valor;
+        if (++dimensao * 2 > chaves.length) {
+            crescer();
+        }
+        return valor;
+    }
+
+    /**
+     * Dobra a capacidade da tabela, reinserindo as entradas.
+     */
+    private void crescer() {
+        long[] antigas = chaves;
+        int[] antigos = valores;
+        chaves = new long[antigas.length * 2];
+        valores = new int[antigas.length * 2];
+        Arrays.fill(chaves, -1);
+        int mascara = chaves.length - 1;
+        for (int i = 0; i < antigas.length; i++) {
+            if (antigas[i] >= 0) {
+                int posicao = (int) (antigas[i] * 0x9E3779B97F4A7C15L >>> 32) & mascara;
+                while (chaves[posicao] >= 0) {
+                    posicao = (posicao + 1) & mascara;
+                }
+                chaves[posicao] = antigas[i];
+                valores[posicao] = antigos[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,400 @@
+package afd.operacoes;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import afd.estados.Estado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimização de um Autômato Finito Determinístico pelo algoritmo de Hopcroft.<p>
+ * Dois estados são equivalentes quando, para qualquer palavra, ambos levam o
+ * autômato a estados terminais ou ambos levam a estados não-terminais. O
+ * autômato mínimo tem um único estado para cada classe de estados equivalentes,
+ * e é único a menos dos nomes dos estados.<p>
+ * O algoritmo parte da partição dos estados em terminais e não-terminais e a
+ * refina sucessivamente: para cada bloco <i>A</i> da lista de pendentes e cada
+ * símbolo <i>a</i>, os blocos que têm apenas parte de seus estados levando a
+ * <i>A</i> com <i>a</i> são divididos. Como somente a menor das partes de cada
+ * divisão precisa ser incluída na lista de pendentes, o tempo total é
+ * <i>O(n k log n)</i>, onde <i>n</i> é o número de estados e <i>k</i> o número
+ * de classes de símbolos.<p>
+ * Antes da refinação, os estados inalcançáveis a partir do estado inicial são
+ * descartados. Caso a Função de Transição seja parcial, as transições não
+ * definidas são tratadas como transições para um estado de erro, e os estados
+ * equivalentes a ele também ficam sem transições no autômato mínimo.
+ * @see AutomatoCompilado
+ * @author Leandro
+ */
+public class Minimizacao {
+
+    /**Autômato mínimo.*/
+    private final AutomatoCompilado automato;
+    /**Estado do autômato mínimo correspondente a cada estado original.*/
+    private final int[] correspondente;
+    /**Autômato original.*/
+    private final AutomatoCompilado original;
+
+    /**
+     * Cria uma instância da classe.
+     * @param original autômato original.
+     * @param automato autômato mínimo.
+     * @param correspondente estado mínimo correspondente a cada estado original.
+     */
+    private Minimizacao(AutomatoCompilado original, AutomatoCompilado automato,
+    int[] correspondente) {
+        this.original = original;
+        this.automato = automato;
+        this.correspondente = correspondente;
+    }
+
+    /**
+     * Autômato mínimo. O estado inicial é o estado <i>q0</i>, e os demais são
+     * numerados na ordem em que são alcançados a partir dele.
+     * @return Autômato mínimo.
+     */
+    public AutomatoCompilado getAutomato() {
+        return automato;
+    }
+
+    /**
+     * Retorna o estado do autômato mínimo que corresponde a um estado do
+     * autômato original.
+     * @param estado índice do estado no autômato original.
+     * @return Índice do estado no autômato mínimo, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso o estado seja inalcançável ou
+     * não possa mais levar a um estado terminal em um autômato parcial.
+     */
+    public int correspondente(int estado) {
+        return correspondente[estado];
+    }
+
+    /**
+     * Mapeamento do nome de cada estado original para o estado correspondente
+     * do autômato mínimo. Estados inalcançáveis, ou que foram eliminados por
+     * equivalência ao estado de erro, não constam do mapeamento.
+     * @return Mapeamento dos estados originais para os estados mínimos.
+     */
+    public Map<String, Estado> getMapeamento() {
+        HashMap<String, Estado> mapeamento = new HashMap<>(correspondente.length * 2);
+        for (int i = 0; i < correspondente.length; i++) {
+            if (correspondente[i] >= 0) {
+                mapeamento.put(
+                    original.getTabela().nomeEstado(i),
+                    automato.getTabela().estadoEm(correspondente[i])
+                );
+            }
+        }
+        return mapeamento;
+    }
+
+    /**
+     * Cria um {@link Automato} editável equivalente ao autômato mínimo. Caso o
+     * autômato mínimo tenha transições não definidas, é incluído um estado de
+     * erro não-terminal, para que a Função de Transição fique totalmente
+     * definida.
+     * @return Autômato editável.
+     * @throws Exception Caso algum estado não possa ser inserido.
+     */
+    public Automato criarAutomato() throws Exception {
+        TabelaTransicao tabela = automato.getTabela();
+        int estados = tabela.dimensaoEstados();
+        String erro = "q" + estados;
+        boolean parcial = false;
+        Automato resultado = new Automato();
+        char[] simbolos = new char[tabela.dimensaoAlfabeto()];
+        for (int s = 0; s < simbolos.length; s++) {
+            simbolos[s] = tabela.simboloEm(s);
+        }
+        resultado.getAlfabeto().inserirTodos(simbolos);
+        for (int q = 0; q < estados; q++) {
+            resultado.getEstados().inserir(new Estado(
+                tabela.nomeEstado(q), automato.isTerminal(q)
+            ));
+        }
+        for (int q = 0; q < estados; q++) {
+            for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+                int destino = tabela.destino(q, s);
+                if (destino < 0 && !parcial) {
+                    parcial = true;
+                    resultado.getEstados().inserir(new Estado(erro));
+                }
+                resultado.getFuncaoTransicao().adicionarTransicao(
+                    tabela.nomeEstado(q),
+                    tabela.simboloEm(s),
+                    destino >= 0 ? tabela.nomeEstado(destino) : erro
+                );
+            }
+        }
+        if (parcial) {
+            for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+                resultado.getFuncaoTransicao().adicionarTransicao(erro, tabela.simboloEm(s), erro);
+            }
+        }
+        resultado.setEstadoInicial(tabela.nomeEstado(automato.getEstadoInicial()));
+        return resultado;
+    }
+
+    /**
+     * Minimiza um autômato editável.
+     * @param automato autômato a ser minimizado.
+     * @return Resultado da minimização.
+     * @throws Exception Caso alguma transição ainda não tenha sido definida, ou o
+     * estado inicial não pertença ao conjunto dos estados.
+     */
+    public static Minimizacao minimizar(Automato automato) throws Exception {
+        return minimizar(automato.compilar());
+    }
+
+    /**
+     * Minimiza um autômato compilado.
+     * @param automato autômato a ser minimizado.
+     * @return Resultado da minimização.
+     */
+    public static Minimizacao minimizar(AutomatoCompilado automato) {
+        TabelaTransicao tabela = automato.getTabela();
+        int classes = tabela.dimensaoClasses();
+        int original = tabela.dimensaoEstados();
+
+        //Estados alcançáveis, renumerados na ordem da busca em largura.
+        int[] numero = new int[original];
+        Arrays.fill(numero, TabelaTransicao.INDEFINIDO);
+        int[] alcancaveis = new int[original];
+        int n = 0;
+        boolean parcial = false;
+        alcancaveis[n] = automato.getEstadoInicial();
+        numero[alcancaveis[n++]] = 0;
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < classes; c++) {
+                int destino = tabela.destinoClasse(alcancaveis[i], c);
+                if (destino < 0) {
+                    parcial = true;
+                } else if (numero[destino] < 0) {
+                    numero[destino] = n;
+                    alcancaveis[n++] = destino;
+                }
+            }
+        }
+        //Transições totais sobre os estados alcançáveis e o estado de erro.
+        int erro = (parcial ? n : TabelaTransicao.INDEFINIDO);
+        int total = (parcial ? n + 1 : n);
+        int[] delta = new int[Math.multiplyExact(total, classes)];
+        boolean[] terminal = new boolean[total];
+        for (int i = 0; i < n; i++) {
+            terminal[i] = automato.isTerminal(alcancaveis[i]);
+            for (int c = 0; c < classes; c++) {
+                int destino = tabela.destinoClasse(alcancaveis[i], c);
+                delta[i * classes + c] = (destino >= 0 ? numero[destino] : erro);
+            }
+        }
+        if (parcial) {
+            Arrays.fill(delta, erro * classes, total * classes, erro);
+        }
+
+        int[] bloco = refinar(total, classes, delta, terminal);
+
+        //Numera os blocos na ordem da busca em largura a partir do estado inicial.
+        int blocos = 0;
+        for (int i = 0; i < total; i++) {
+            blocos = Math.max(blocos, bloco[i] + 1);
+        }
+        int[] representante = new int[blocos];
+        Arrays.fill(representante, TabelaTransicao.INDEFINIDO);
+        for (int i = total - 1; i >= 0; i--) {
+            representante[bloco[i]] = i;
+        }
+        int blocoErro = (parcial ? bloco[erro] : TabelaTransicao.INDEFINIDO);
+        int[] novo = new int[blocos];
+        Arrays.fill(novo, TabelaTransicao.INDEFINIDO);
+        int[] ordem = new int[blocos];
+        int m = 0;
+        if (bloco[0] != blocoErro) {
+            ordem[m] = bloco[0];
+            novo[bloco[0]] = m++;
+        }
+        for (int i = 0; i < m; i++) {
+            int r = representante[ordem[i]];
+            for (int c = 0; c < classes; c++) {
+                int b = bloco[delta[r * classes + c]];
+                if (b != blocoErro && novo[b] < 0) {
+                    ordem[m] = b;
+                    novo[b] = m++;
+                }
+            }
+        }
+        if (m == 0) {
+            //A linguagem é vazia e o autômato é parcial: resta o estado inicial.
+            ordem[m] = bloco[0];
+            novo[bloco[0]] = m++;
+            blocoErro = TabelaTransicao.INDEFINIDO;
+        }
+
+        //Monta o autômato mínimo sobre os símbolos originais.
+        int k = tabela.dimensaoAlfabeto();
+        Estado[] estados = new Estado[m];
+        char[] simbolos = new char[k];
+        int[] destinos = new int[Math.multiplyExact(m, k)];
+        BitSet terminais = new BitSet(m);
+        for (int s = 0; s < k; s++) {
+            simbolos[s] = tabela.simboloEm(s);
+        }
+        for (int i = 0; i < m; i++) {
+            int r = representante[ordem[i]];
+            estados[i] = new Estado("q" + i, terminal[r]);
+            terminais.set(i, terminal[r]);
+            for (int s = 0; s < k; s++) {
+                int b = bloco[delta[r * classes + tabela.classeDoSimbolo(s)]];
+                destinos[i * k + s] = (b != blocoErro ? novo[b] : TabelaTransicao.INDEFINIDO);
+            }
+        }
+        int[] correspondente = new int[original];
+        for (int q = 0; q < original; q++) {
+            correspondente[q] = (numero[q] >= 0 ? novo[bloco[numero[q]]] : TabelaTransicao.INDEFINIDO);
+        }
+        return new Minimizacao(
+            automato,
+            new AutomatoCompilado(new TabelaTransicao(estados, simbolos, destinos), 0, terminais),
+            correspondente
+        );
+    }
+
+    /**
+     * Refina a partição dos estados de um autômato de transições totais até
+     * que cada bloco contenha apenas estados equivalentes.
+     * @param n número de estados.
+     * @param k número de símbolos.
+     * @param delta transições (estado * k + símbolo -> estado de destino).
+     * @param terminal indicação de estado terminal.
+     * @return Bloco de cada estado na partição final.
+     */
+    private static int[] refinar(int n, int k, int[] delta, boolean[] terminal) {
+        //Transições inversas: estados de origem agrupados por (destino, símbolo).
+        int[] inicioInversas = new int[n * k + 1];
+        for (int q = 0; q < n; q++) {
+            for (int a = 0; a < k; a++) {
+                inicioInversas[delta[q * k + a] * k + a + 1]++;
+            }
+        }
+        for (int i = 0; i < n * k; i++) {
+            inicioInversas[i + 1] += inicioInversas[i];
+        }
+        int[] inversas = new int[n * k];
+        int[] preenchidas = Arrays.copyOf(inicioInversas, n * k);
+        for (int q = 0; q < n; q++) {
+            for (int a = 0; a < k; a++) {
+                inversas[preenchidas[delta[q * k + a] * k + a]++] = q;
+            }
+        }
+        preenchidas = null;
+
+        /*
+         * Partição: os estados de cada bloco ocupam um intervalo contínuo de
+         * "elementos"; os estados marcados de um bloco ficam no início de seu
+         * intervalo.
+         */
+        int[] elementos = new int[n];
+        int[] posicao = new int[n];
+        int[] bloco = new int[n];
+        int[] inicio = new int[n + 1];
+        int[] fim = new int[n + 1];
+        int[] marcados = new int[n + 1];
+        int[] pendentes = new int[n + 1];
+        int numPendentes = 0;
+        int blocos = 0;
+
+        int numTerminais = 0;
+        for (int q = 0; q < n; q++) {
+            if (terminal[q]) {
+                numTerminais++;
+            }
+        }
+        int t = 0;
+        int nt = numTerminais;
+        for (int q = 0; q < n; q++) {
+            elementos[terminal[q] ? t++ : nt++] = q;
+        }
+        if (numTerminais > 0) {
+            inicio[blocos] = 0;
+            fim[blocos] = numTerminais;
+            blocos++;
+        }
+        if (numTerminais < n) {
+            inicio[blocos] = numTerminais;
+            fim[blocos] = n;
+            blocos++;
+        }
+        for (int b = 0; b < blocos; b++) {
+            for (int i = inicio[b]; i < fim[b]; i++) {
+                bloco[elementos[i]] = b;
+                posicao[elementos[i]] = i;
+            }
+        }
+        //Basta incluir o menor dos dois blocos iniciais na lista de pendentes.
+        int menor = (blocos == 2 && fim[1] - inicio[1] < fim[0] - inicio[0] ? 1 : 0);
+        if (blocos > 0) {
+            pendentes[numPendentes++] = menor;
+        }
+
+        int[] divisor = new int[n];
+        int[] tocados = new int[n + 1];
+        while (numPendentes > 0) {
+            int divisorBloco = pendentes[--numPendentes];
+            int dimensao = fim[divisorBloco] - inicio[divisorBloco];
+            System.arraycopy(elementos, inicio[divisorBloco], divisor, 0, dimensao);
+            for (int a = 0; a < k; a++) {
+                int numTocados = 0;
+                //Marca os estados que levam ao bloco divisor com o símbolo a.
+                for (int i = 0; i < dimensao; i++) {
+                    int chave = divisor[i] * k + a;
+                    for (int j = inicioInversas[chave]; j < inicioInversas[chave + 1]; j++) {
+                        int q = inversas[j];
+                        int b = bloco[q];
+                        if (marcados[b] == 0) {
+                            tocados[numTocados++] = b;
+                        }
+                        //Troca q com o primeiro estado não marcado do bloco.
+                        int destino = inicio[b] + marcados[b]++;
+                        int outro = elementos[destino];
+                        elementos[posicao[q]] = outro;
+                        posicao[outro] = posicao[q];
+                        elementos[destino] = q;
+                        posicao[q] = destino;
+                    }
+                }
+                //Divide os blocos marcados apenas parcialmente.
+                for (int i = 0; i < numTocados; i++) {
+                    int b = tocados[i];
+                    int meio = inicio[b] + marcados[b];
+                    marcados[b] = 0;
+                    if (meio < fim[b]) {
+                        /*
+                         * A menor das partes forma o novo bloco, de forma que
+                         * apenas ela é renumerada. Se o bloco original já estava
+                         * pendente, ambas as partes ficam pendentes; caso
+                         * contrário, basta incluir a menor delas.
+                         */
+                        int novo = blocos++;
+                        if (meio - inicio[b] <= fim[b] - meio) {
+                            inicio[novo] = inicio[b];
+                            fim[novo] = meio;
+                            inicio[b] = meio;
+                        } else {
+                            inicio[novo] = meio;
+                            fim[novo] = fim[b];
+                            fim[b] = meio;
+                        }
+                        for (int j = inicio[novo]; j < fim[novo]; j++) {
+                            bloco[elementos[j]] = novo;
+                        }
+                        pendentes[numPendentes++] = novo;
+                    }
+                }
+            }
+        }
+        return bloco;
+    }
+
+}
@@ -0,0 +1,183 @@
+package afd.operacoes;
+
+import afd.automato.Automato;
+import afd.automato.AutomatoCompilado;
+import java.util.BitSet;
+
+/**
+ * Operações booleanas sobre as linguagens aceitas por autômatos: união,
+ * interseção, diferença, diferença simétrica e complemento.<p>
+ * As operações binárias são feitas sobre o {@link ProdutoAutomatos} dos dois
+ * autômatos, construído sob demanda a partir do par de estados iniciais, de
+ * modo que as combinações de estados inalcançáveis nunca são criadas. Um estado
+ * do produto é terminal conforme a operação aplicada ao status de terminal dos
+ * estados dos componentes. Quando os alfabetos diferem, o alfabeto do resultado
+ * é a união dos dois.<p>
+ * O complemento é relativo ao alfabeto do autômato: as palavras com símbolos
+ * fora do alfabeto continuam rejeitadas.<p>
+ * Os resultados são autômatos compilados, prontos para o processamento, mas não
+ * necessariamente mínimos; para isso, use {@link Minimizacao}.
+ * @see ProdutoAutomatos
+ * @author Leandro
+ */
+public class OperacoesBooleanas {
+
+    /**
+     * Critério de aceitação de um estado do produto, a partir da aceitação dos
+     * estados dos componentes.
+     */
+    private interface Criterio {
+
+        /**
+         * Indica se um estado do produto é terminal.
+         * @param primeiro indica se o estado do primeiro componente é terminal.
+         * @param segundo indica se o estado do segundo componente é terminal.
+         * @return <b>true</b>, caso o estado do produto seja terminal.
+         */
+        boolean aceita(boolean primeiro, boolean segundo);
+
+    }
+
+    private OperacoesBooleanas() {
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas por algum dos dois autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da união.
+     */
+    public static AutomatoCompilado uniao(AutomatoCompilado a, AutomatoCompilado b) {
+        return combinar(a, b, (x, y) -> x || y);
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas pelos dois autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da interseção.
+     */
+    public static AutomatoCompilado intersecao(AutomatoCompilado a, AutomatoCompilado b) {
+        return combinar(a, b, (x, y) -> x && y);
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas pelo primeiro autômato e
+     * rejeitadas pelo segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da diferença.
+     */
+    public static AutomatoCompilado diferenca(AutomatoCompilado a, AutomatoCompilado b) {
+        return combinar(a, b, (x, y) -> x && !y);
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas por exatamente um dos autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da diferença simétrica.
+     */
+    public static AutomatoCompilado diferencaSimetrica(AutomatoCompilado a, AutomatoCompilado b) {
+        return combinar(a, b, (x, y) -> x != y);
+    }
+
+    /**
+     * Autômato que aceita as palavras sobre o alfabeto do autômato que ele
+     * rejeita. As transições indefinidas passam a levar a um estado de erro
+     * terminal, com transições para si mesmo.
+     * @param a autômato.
+     * @return Autômato do complemento.
+     */
+    public static AutomatoCompilado complemento(AutomatoCompilado a) {
+        ProdutoAutomatos produto = new ProdutoAutomatos(new AutomatoCompilado[]{a}, true);
+        BitSet terminais = new BitSet(produto.dimensaoEstados());
+        for (int q = 0; q < produto.dimensaoEstados(); q++) {
+            if (!a.isTerminal(produto.componente(q, 0))) {
+                terminais.set(q);
+            }
+        }
+        return produto.criarAutomato(terminais);
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas por algum dos dois autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da união.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static AutomatoCompilado uniao(Automato a, Automato b) throws Exception {
+        return uniao(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas pelos dois autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da interseção.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static AutomatoCompilado intersecao(Automato a, Automato b) throws Exception {
+        return intersecao(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas pelo primeiro autômato e
+     * rejeitadas pelo segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da diferença.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static AutomatoCompilado diferenca(Automato a, Automato b) throws Exception {
+        return diferenca(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Autômato que aceita as palavras aceitas por exatamente um dos autômatos.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @return Autômato da diferença simétrica.
+     * @throws Exception Caso algum autômato não possa ser compilado.
+     */
+    public static AutomatoCompilado diferencaSimetrica(Automato a, Automato b) throws Exception {
+        return diferencaSimetrica(a.compilar(), b.compilar());
+    }
+
+    /**
+     * Autômato que aceita as palavras sobre o alfabeto do autômato que ele
+     * rejeita.
+     * @param a autômato.
+     * @return Autômato do complemento.
+     * @throws Exception Caso o autômato não possa ser compilado.
+     */
+    public static AutomatoCompilado complemento(Automato a) throws Exception {
+        return complemento(a.compilar());
+    }
+
+    /**
+     * Constrói o produto de dois autômatos, com os estados terminais definidos
+     * pelo critério da operação. A combinação em que os dois componentes estão
+     * indefinidos só é criada quando o critério a aceita.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @param criterio critério de aceitação da operação.
+     * @return Autômato produto.
+     */
+    private static AutomatoCompilado combinar(AutomatoCompilado a, AutomatoCompilado b,
+    Criterio criterio) {
+        ProdutoAutomatos produto = new ProdutoAutomatos(
+            new AutomatoCompilado[]{a, b}, criterio.aceita(false, false)
+        );
+        BitSet terminais = new BitSet(produto.dimensaoEstados());
+        for (int q = 0; q < produto.dimensaoEstados(); q++) {
+            if (criterio.aceita(a.isTerminal(produto.componente(q, 0)),
+                b.isTerminal(produto.componente(q, 1)))) {
+                terminais.set(q);
+            }
+        }
+        return produto.criarAutomato(terminais);
+    }
+
+}
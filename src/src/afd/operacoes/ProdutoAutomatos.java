@@ -0,0 +1,258 @@
+package afd.operacoes;
+
+import afd.automato.AutomatoCompilado;
+import afd.automato.VetorInteiros;
+import afd.estados.Estado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Autômato produto de vários autômatos, que os executa simultaneamente.<p>
+ * Cada estado do produto corresponde a uma combinação de estados dos autômatos
+ * componentes, e a transição com um símbolo leva cada componente ao seu próprio
+ * destino. O alfabeto do produto é a união dos alfabetos dos componentes; um
+ * componente que lê um símbolo fora de seu alfabeto passa ao estado indefinido.<p>
+ * Somente as combinações atingíveis a partir da combinação dos estados iniciais
+ * são construídas, por uma busca em largura. Os estados mortos dos componentes
+ * são tratados como o estado indefinido ({@link TabelaTransicao#INDEFINIDO}), o
+ * que não altera nenhuma combinação das linguagens e reduz o número de estados.
+ * A combinação em que todos os componentes estão indefinidos pode ser omitida,
+ * tornando-se uma transição indefinida do produto.<p>
+ * O conjunto dos estados terminais do produto depende da operação desejada e é
+ * definido a partir dos estados dos componentes, em
+ * {@link #criarAutomato(BitSet)}.
+ * @see AutomatoCompilado
+ * @author Leandro
+ */
+public class ProdutoAutomatos {
+
+    /**Autômatos componentes.*/
+    private final AutomatoCompilado[] componentes;
+    /**Símbolos do alfabeto do produto, em ordem crescente.*/
+    private final char[] simbolos;
+    /**Classe de cada símbolo do produto, pelo índice do símbolo.*/
+    private final int[] classeDoSimbolo;
+    /**Número de classes de símbolos do produto.*/
+    private final int classes;
+    /**Estados dos componentes, em sequência, para cada estado do produto.*/
+    private final VetorInteiros combinacoes;
+    /**Transições do produto, por estado e classe (estado * classes + classe).*/
+    private final VetorInteiros destinos;
+    /**Peso de cada componente na chave numérica das combinações.*/
+    private final long[] multiplicadores;
+    /**Índices dos estados pela chave numérica, durante a construção.*/
+    private MapaChaves chaves;
+    /**Índices dos estados pela combinação, quando a chave numérica não cabe em
+     um <b>long</b>, durante a construção.*/
+    private HashMap<Tupla, Integer> tuplas;
+
+    /**
+     * Vetor de inteiros usado como chave de busca.
+     */
+    private static class Tupla {
+
+        /**Valores da tupla.*/
+        private final int[] valores;
+        /**Código hash dos valores.*/
+        private final int hash;
+
+        Tupla(int[] valores) {
+            this.valores = valores;
+            this.hash = Arrays.hashCode(valores);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Tupla ?
+            Arrays.equals(((Tupla) obj).valores, valores) : false);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Constrói o produto dos autômatos.
+     * @param componentes autômatos componentes, ao menos um.
+     * @param materializarIndefinido indica se a combinação em que todos os
+     * componentes estão indefinidos é um estado do produto (necessário quando
+     * ela deve ser terminal), em vez de uma transição indefinida.
+     */
+    public ProdutoAutomatos(AutomatoCompilado[] componentes, boolean materializarIndefinido) {
+        if (componentes.length == 0) {
+            throw new IllegalArgumentException("Nenhum autômato componente.");
+        }
+        this.componentes = componentes.clone();
+        int k = componentes.length;
+        //Alfabeto do produto: união dos alfabetos dos componentes.
+        StringBuilder uniao = new StringBuilder();
+        for (AutomatoCompilado componente : componentes) {
+            TabelaTransicao tabela = componente.getTabela();
+            for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+                uniao.append(tabela.simboloEm(s));
+            }
+        }
+        char[] todos = uniao.toString().toCharArray();
+        Arrays.sort(todos);
+        int distintos = 0;
+        for (int i = 0; i < todos.length; i++) {
+            if (distintos == 0 || todos[distintos - 1] != todos[i]) {
+                todos[distintos++] = todos[i];
+            }
+        }
+        simbolos = Arrays.copyOf(todos, distintos);
+        //Classes do produto: símbolos com as mesmas classes em todos os componentes.
+        classeDoSimbolo = new int[simbolos.length];
+        HashMap<Tupla, Integer> assinaturas = new HashMap<>();
+        VetorInteiros representantes = new VetorInteiros();
+        for (int s = 0; s < simbolos.length; s++) {
+            int[] assinatura = new int[k];
+            for (int i = 0; i < k; i++) {
+                assinatura[i] = componentes[i].getTabela().classe(simbolos[s]);
+            }
+            Integer classe = assinaturas.putIfAbsent(new Tupla(assinatura), assinaturas.size());
+            if (classe == null) {
+                classe = assinaturas.size() - 1;
+                representantes.adicionar(s);
+            }
+            classeDoSimbolo[s] = classe;
+        }
+        classes = assinaturas.size();
+        //Busca em largura pelas combinações atingíveis.
+        combinacoes = new VetorInteiros();
+        destinos = new VetorInteiros();
+        multiplicadores = new long[k];
+        long radicais = 1;
+        for (int i = 0; i < k && radicais > 0; i++) {
+            multiplicadores[i] = radicais;
+            long radical = componentes[i].dimensaoEstados() + 1L;
+            radicais = (radicais <= Long.MAX_VALUE / radical ? radicais * radical : 0);
+        }
+        chaves = (radicais > 0 ? new MapaChaves() : null);
+        tuplas = (radicais > 0 ? null : new HashMap<>());
+        int[] combinacao = new int[k];
+        for (int i = 0; i < k; i++) {
+            combinacao[i] = normalizar(i, componentes[i].getEstadoInicial());
+        }
+        indice(combinacao);
+        for (int q = 0; q < dimensaoEstados(); q++) {
+            for (int c = 0; c < classes; c++) {
+                char simbolo = simbolos[representantes.get(c)];
+                boolean indefinido = true;
+                for (int i = 0; i < k; i++) {
+                    int estado = combinacoes.get(q * k + i);
+                    combinacao[i] = (estado >= 0 ? normalizar(i,
+                        componentes[i].getTabela().transicao(estado, simbolo)) :
+                        TabelaTransicao.INDEFINIDO);
+                    indefinido &= combinacao[i] < 0;
+                }
+                destinos.adicionar(indefinido && !materializarIndefinido ?
+                    TabelaTransicao.INDEFINIDO : indice(combinacao));
+            }
+        }
+        chaves = null;
+        tuplas = null;
+    }
+
+    /**
+     * Retorna o índice do estado do produto correspondente a uma combinação,
+     * criando-o caso ainda não exista.
+     * @param combinacao estados dos componentes. O vetor não é retido.
+     * @return Índice do estado do produto.
+     */
+    private int indice(int[] combinacao) {
+        int novo = dimensaoEstados();
+        int indice;
+        if (chaves != null) {
+            long chave = 0;
+            for (int i = 0; i < combinacao.length; i++) {
+                chave += (combinacao[i] + 1) * multiplicadores[i];
+            }
+            indice = chaves.inserir(chave, novo);
+        } else {
+            Integer existente = tuplas.putIfAbsent(new Tupla(combinacao.clone()), novo);
+            indice = (existente != null ? existente : novo);
+        }
+        if (indice == novo) {
+            for (int i = 0; i < combinacao.length; i++) {
+                combinacoes.adicionar(combinacao[i]);
+            }
+        }
+        return indice;
+    }
+
+    /**
+     * Trata os estados mortos de um componente como o estado indefinido.
+     * @param componente índice do componente.
+     * @param estado índice do estado no componente.
+     * @return Índice do estado, ou {@link TabelaTransicao#INDEFINIDO}.
+     */
+    private int normalizar(int componente, int estado) {
+        return (componentes[componente].isMorto(estado) ? TabelaTransicao.INDEFINIDO : estado);
+    }
+
+    /**
+     * Número de autômatos componentes.
+     * @return Número de componentes.
+     */
+    public int dimensaoComponentes() {
+        return componentes.length;
+    }
+
+    /**
+     * Autômato componente.
+     * @param indice índice do componente.
+     * @return Autômato componente.
+     */
+    public AutomatoCompilado getComponente(int indice) {
+        return componentes[indice];
+    }
+
+    /**
+     * Número de estados do produto. O estado inicial é o de índice 0.
+     * @return Número de estados.
+     */
+    public int dimensaoEstados() {
+        return combinacoes.dimensao() / componentes.length;
+    }
+
+    /**
+     * Estado de um componente na combinação correspondente a um estado do produto.
+     * @param estado índice do estado do produto.
+     * @param componente índice do componente.
+     * @return Índice do estado no componente, ou
+     * {@link TabelaTransicao#INDEFINIDO}, caso o componente esteja indefinido
+     * (ou em um estado morto).
+     */
+    public int componente(int estado, int componente) {
+        return combinacoes.get(estado * componentes.length + componente);
+    }
+
+    /**
+     * Cria o autômato produto com um conjunto de estados terminais. Os estados
+     * são nomeados <i>q0</i>, <i>q1</i>, ... na ordem da busca em largura.
+     * @param terminais índices dos estados terminais do produto.
+     * @return Autômato produto compilado.
+     */
+    public AutomatoCompilado criarAutomato(BitSet terminais) {
+        int n = dimensaoEstados();
+        int k = simbolos.length;
+        Estado[] estados = new Estado[n];
+        for (int q = 0; q < n; q++) {
+            estados[q] = new Estado("q" + q, terminais.get(q));
+        }
+        int[] tabela = new int[Math.multiplyExact(n, k)];
+        for (int q = 0; q < n; q++) {
+            for (int s = 0; s < k; s++) {
+                tabela[q * k + s] = destinos.get(q * classes + classeDoSimbolo[s]);
+            }
+        }
+        return new AutomatoCompilado(new TabelaTransicao(estados, simbolos, tabela), 0, terminais);
+    }
+
+}
@@ -4,6 +4,7 @@ import afd.automato.Automato;
 import afd.estados.Estado;
 import afd.alfabeto.Simbolo;
 import afd.automato.FitaEntrada;
+import afd.automato.NivelRastreamento;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Cursor;
@@ -36,6 +37,8 @@ public class TelaPrincipal extends javax.swing.JFrame {
     public TelaPrincipal() {
         initComponents();
         automato = new Automato();
+        //O histórico é reconstruído somente quando exibido na TelaVerificacao.
+        automato.setNivelRastreamento(NivelRastreamento.COMPACTO);
         traduzirDialogo();
         configurarMenus();
         jtfAlfabeto.requestFocus();
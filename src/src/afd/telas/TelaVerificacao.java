@@ -2,7 +2,7 @@ package afd.telas;
 
 import afd.automato.Automato;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Exibe o processamento da palavra de entrada.<br>
@@ -13,7 +13,7 @@ import java.util.ArrayList;
 public class TelaVerificacao extends javax.swing.JDialog {
 
     private boolean aceita;
-    private ArrayList <Automato.Processamento> historicoProcessamento;
+    private List <Automato.Processamento> historicoProcessamento;
 
     /**
      * O constructor recebe as informações necessárias para a reconstrução
@@ -22,7 +22,7 @@ public class TelaVerificacao extends javax.swing.JDialog {
      * @param AFD referência para o objeto da classe {@link AutomatoFinitoDeterministico}.
      */
     public TelaVerificacao(java.awt.Frame parent, boolean aceita, 
-            ArrayList <Automato.Processamento> historicoProcessamento) {
+            List <Automato.Processamento> historicoProcessamento) {
         super(parent, true);
         initComponents();
         this.historicoProcessamento = historicoProcessamento;
@@ -0,0 +1,117 @@
+package afd;
+
+import afd.automato.AutomatoCompilado;
+import afd.estados.Estado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Autômatos e palavras aleatórios, gerados a partir de uma semente, e
+ * referências por força bruta para os testes diferenciais.<p>
+ * Os autômatos podem ter transições não definidas e símbolos com colunas
+ * idênticas na tabela de transição, que formam classes de símbolos.
+ * @author Leandro
+ */
+public class AutomatosAleatorios {
+
+    private AutomatosAleatorios() {
+    }
+
+    /**
+     * Gera um autômato aleatório com estado inicial <i>q0</i>.
+     * @param aleatorio gerador de números aleatórios.
+     * @param estados número de estados.
+     * @param simbolos símbolos do alfabeto.
+     * @return Autômato compilado.
+     */
+    public static AutomatoCompilado automato(Random aleatorio, int estados, String simbolos) {
+        char[] alfabeto = simbolos.toCharArray();
+        int k = alfabeto.length;
+        int[] destinos = new int[estados * k];
+        for (int s = 0; s < k; s++) {
+            //Repete a coluna de um símbolo anterior, formando uma classe.
+            int copia = (s > 0 && aleatorio.nextInt(4) == 0 ? aleatorio.nextInt(s) : -1);
+            for (int q = 0; q < estados; q++) {
+                destinos[q * k + s] = (copia >= 0 ? destinos[q * k + copia] :
+                    aleatorio.nextInt(5) == 0 ? TabelaTransicao.INDEFINIDO : aleatorio.nextInt(estados));
+            }
+        }
+        Estado[] nomes = new Estado[estados];
+        BitSet terminais = new BitSet(estados);
+        for (int q = 0; q < estados; q++) {
+            nomes[q] = new Estado("q" + q);
+            if (aleatorio.nextInt(3) == 0) {
+                terminais.set(q);
+            }
+        }
+        return new AutomatoCompilado(new TabelaTransicao(nomes, alfabeto, destinos), 0, terminais);
+    }
+
+    /**
+     * Gera uma palavra aleatória.
+     * @param aleatorio gerador de números aleatórios.
+     * @param comprimento tamanho da palavra.
+     * @param simbolos símbolos que podem ocorrer na palavra.
+     * @return Palavra.
+     */
+    public static String palavra(Random aleatorio, int comprimento, String simbolos) {
+        char[] palavra = new char[comprimento];
+        for (int i = 0; i < comprimento; i++) {
+            palavra[i] = simbolos.charAt(aleatorio.nextInt(simbolos.length()));
+        }
+        return new String(palavra);
+    }
+
+    /**
+     * Todas as palavras de um tamanho, em ordem lexicográfica pela ordem dos
+     * símbolos informados.
+     * @param simbolos símbolos, em ordem.
+     * @param comprimento tamanho das palavras.
+     * @return Lista das palavras.
+     */
+    public static List<String> palavras(String simbolos, int comprimento) {
+        List<String> palavras = new ArrayList<>();
+        palavras.add("");
+        for (int i = 0; i < comprimento; i++) {
+            List<String> maiores = new ArrayList<>(palavras.size() * simbolos.length());
+            for (String prefixo : palavras) {
+                for (char simbolo : simbolos.toCharArray()) {
+                    maiores.add(prefixo + simbolo);
+                }
+            }
+            palavras = maiores;
+        }
+        return palavras;
+    }
+
+    /**
+     * Estado final do processamento de uma palavra, símbolo a símbolo, pela
+     * consulta direta à tabela de transição.
+     * @param automato autômato.
+     * @param palavra palavra a ser processada.
+     * @return Índice do estado final, ou {@link TabelaTransicao#INDEFINIDO}.
+     */
+    public static int estadoFinal(AutomatoCompilado automato, CharSequence palavra) {
+        int estado = automato.getEstadoInicial();
+        for (int i = 0; i < palavra.length() && estado >= 0; i++) {
+            estado = automato.getTabela().transicao(estado, palavra.charAt(i));
+        }
+        return estado;
+    }
+
+    /**
+     * Verifica, pela consulta direta à tabela de transição, se uma palavra é
+     * aceita.
+     * @param automato autômato.
+     * @param palavra palavra a ser verificada.
+     * @return <b>true</b>, caso a palavra seja aceita.
+     */
+    public static boolean aceita(AutomatoCompilado automato, CharSequence palavra) {
+        int estado = estadoFinal(automato, palavra);
+        return estado >= 0 && automato.isTerminal(estado);
+    }
+
+}
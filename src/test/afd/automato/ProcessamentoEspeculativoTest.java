@@ -0,0 +1,83 @@
+package afd.automato;
+
+import afd.AutomatosAleatorios;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara o processamento especulativo, dividido em vários trechos, com o
+ * processamento símbolo a símbolo, em autômatos e palavras aleatórios.
+ * @author Leandro
+ */
+public class ProcessamentoEspeculativoTest {
+
+    /**Semente dos autômatos e palavras gerados.*/
+    private static final long SEMENTE = 8;
+
+    @Test
+    public void trechosConcordamComInterpretador() {
+        Random aleatorio = new Random(SEMENTE);
+        for (int caso = 0; caso < 500; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(12), "abc");
+            //O símbolo d não pertence ao alfabeto.
+            String palavra = AutomatosAleatorios.palavra(
+                aleatorio, aleatorio.nextInt(300), aleatorio.nextInt(4) == 0 ? "abcd" : "abc");
+            int esperado = AutomatosAleatorios.estadoFinal(automato, palavra);
+            for (int partes = 1; partes <= 8; partes++) {
+                assertEquals("caso " + caso + ", " + partes + " trechos", esperado,
+                    ProcessamentoEspeculativo.estadoFinal(automato, palavra.toCharArray(), partes));
+            }
+        }
+    }
+
+    @Test
+    public void processarParaleloConcordaComInterpretador() {
+        Random aleatorio = new Random(SEMENTE + 1);
+        for (int caso = 0; caso < 200; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(12), "ab");
+            String palavra = AutomatosAleatorios.palavra(aleatorio, aleatorio.nextInt(100), "ab");
+            ResultadoProcessamento resultado = automato.processarParalelo(
+                new FitaEntrada(palavra.toCharArray()));
+            assertEquals("caso " + caso, AutomatosAleatorios.aceita(automato, palavra),
+                resultado.isAceita());
+            assertEquals("caso " + caso, nome(automato, AutomatosAleatorios.estadoFinal(automato, palavra)),
+                resultado.getEstadoFinal() == null ? null : resultado.getEstadoFinal().getNome());
+        }
+    }
+
+    @Test
+    public void arquivoMapeadoConcordaComInterpretador() throws IOException {
+        Random aleatorio = new Random(SEMENTE + 2);
+        Path arquivo = Files.createTempFile("afd-especulativo", ".txt");
+        try {
+            for (int caso = 0; caso < 50; caso++) {
+                AutomatoCompilado automato = AutomatosAleatorios.automato(
+                    aleatorio, 1 + aleatorio.nextInt(12), "ab");
+                String palavra = AutomatosAleatorios.palavra(aleatorio, aleatorio.nextInt(1000), "ab");
+                Files.write(arquivo, palavra.getBytes(StandardCharsets.ISO_8859_1));
+                assertEquals("caso " + caso, AutomatosAleatorios.aceita(automato, palavra),
+                    automato.processarParalelo(arquivo).isAceita());
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Nome de um estado do autômato.
+     * @param automato autômato.
+     * @param estado índice do estado.
+     * @return Nome do estado, ou <b>null</b>, caso o índice seja indefinido.
+     */
+    private static String nome(AutomatoCompilado automato, int estado) {
+        return (estado >= 0 ? automato.getTabela().nomeEstado(estado) : null);
+    }
+
+}
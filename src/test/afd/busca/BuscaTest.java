@@ -0,0 +1,117 @@
+package afd.busca;
+
+import afd.AutomatosAleatorios;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Compara os dois modos de busca com a verificação, por força bruta, de todos
+ * os trechos do texto, em autômatos e textos aleatórios.
+ * @author Leandro
+ */
+public class BuscaTest {
+
+    /**Semente dos autômatos e textos gerados.*/
+    private static final long SEMENTE = 13;
+
+    @Test
+    public void todasConcordaComForcaBruta() {
+        Random aleatorio = new Random(SEMENTE);
+        for (int caso = 0; caso < 500; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(6), "ab");
+            String texto = AutomatosAleatorios.palavra(aleatorio, aleatorio.nextInt(40), "abc");
+            int[] obtidas = new Busca(automato, ModoBusca.TODAS).buscar(texto);
+            assertArrayEquals("caso " + caso + ", texto " + texto,
+                ordenar(todas(automato, texto), texto.length()), ordenar(obtidas, texto.length()));
+        }
+    }
+
+    @Test
+    public void maisLongaAEsquerdaConcordaComForcaBruta() {
+        Random aleatorio = new Random(SEMENTE + 1);
+        for (int caso = 0; caso < 500; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(6), "ab");
+            String texto = AutomatosAleatorios.palavra(aleatorio, aleatorio.nextInt(40), "abc");
+            Busca busca = new Busca(automato, ModoBusca.MAIS_LONGA_A_ESQUERDA);
+            int[] esperadas = maisLongas(automato, texto);
+            assertArrayEquals("caso " + caso + ", texto " + texto, esperadas, busca.buscar(texto));
+            assertArrayEquals("caso " + caso + ", texto " + texto, esperadas,
+                busca.buscar(new FitaEntrada(texto.toCharArray())));
+        }
+    }
+
+    /**
+     * Todas as ocorrências, verificando cada trecho do texto.
+     * @param automato autômato.
+     * @param texto texto.
+     * @return Pares (início, fim) das ocorrências.
+     */
+    private static int[] todas(AutomatoCompilado automato, String texto) {
+        int[] pares = new int[0];
+        for (int fim = 0; fim <= texto.length(); fim++) {
+            for (int inicio = 0; inicio <= fim; inicio++) {
+                if (AutomatosAleatorios.aceita(automato, texto.substring(inicio, fim))) {
+                    pares = Arrays.copyOf(pares, pares.length + 2);
+                    pares[pares.length - 2] = inicio;
+                    pares[pares.length - 1] = fim;
+                }
+            }
+        }
+        return pares;
+    }
+
+    /**
+     * Ocorrências mais longas e mais à esquerda, verificando os trechos a
+     * partir de cada posição.
+     * @param automato autômato.
+     * @param texto texto.
+     * @return Pares (início, fim) das ocorrências, em ordem.
+     */
+    private static int[] maisLongas(AutomatoCompilado automato, String texto) {
+        int[] pares = new int[0];
+        int posicao = 0;
+        while (posicao <= texto.length()) {
+            int inicio = -1;
+            int fim = -1;
+            for (int i = posicao; i <= texto.length() && fim < 0; i++) {
+                for (int j = texto.length(); j >= i && fim < 0; j--) {
+                    if (AutomatosAleatorios.aceita(automato, texto.substring(i, j))) {
+                        inicio = i;
+                        fim = j;
+                    }
+                }
+            }
+            if (fim < 0) {
+                break;
+            }
+            pares = Arrays.copyOf(pares, pares.length + 2);
+            pares[pares.length - 2] = inicio;
+            pares[pares.length - 1] = fim;
+            posicao = (fim > inicio ? fim : fim + 1);
+        }
+        return pares;
+    }
+
+    /**
+     * Ordena os pares de ocorrências, para comparar conjuntos informados em
+     * ordens diferentes.
+     * @param pares pares (início, fim).
+     * @param dimensao tamanho do texto.
+     * @return Chaves ordenadas dos pares.
+     */
+    private static long[] ordenar(int[] pares, int dimensao) {
+        long[] chaves = new long[pares.length / 2];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = (long) pares[2 * i + 1] * (dimensao + 1) + pares[2 * i];
+        }
+        Arrays.sort(chaves);
+        return chaves;
+    }
+
+}
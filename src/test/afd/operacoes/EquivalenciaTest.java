@@ -0,0 +1,144 @@
+package afd.operacoes;
+
+import afd.AutomatosAleatorios;
+import afd.automato.AutomatoCompilado;
+import afd.automato.FitaEntrada;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara a equivalência e a inclusão de linguagens, com os contra-exemplos,
+ * com a enumeração, por força bruta, das palavras curtas, em autômatos
+ * aleatórios.<p>
+ * A menor palavra que distingue dois autômatos tem tamanho menor que o número
+ * de pares de estados (incluindo o estado de erro) alcançáveis pela leitura
+ * simultânea das palavras, de modo que a enumeração até esse tamanho decide a
+ * equivalência.
+ * @author Leandro
+ */
+public class EquivalenciaTest {
+
+    /**Semente dos autômatos gerados.*/
+    private static final long SEMENTE = 17;
+
+    @Test
+    public void equivalenciaConcordaComForcaBruta() {
+        Random aleatorio = new Random(SEMENTE);
+        for (int caso = 0; caso < 300; caso++) {
+            AutomatoCompilado a = AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(3), "ab");
+            //Parte dos casos compara autômatos equivalentes.
+            AutomatoCompilado b = (caso % 4 == 0 ? Minimizacao.minimizar(a).getAutomato() :
+                AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(3), "ab"));
+            String esperado = distingue(a, b, false, "ab");
+            FitaEntrada obtido = Equivalencia.contraExemplo(a, b);
+            assertEquals("caso " + caso, esperado, palavra(obtido));
+            assertEquals("caso " + caso, esperado == null, Equivalencia.equivalentes(a, b));
+        }
+    }
+
+    @Test
+    public void equivalenciaComAlfabetosDiferentes() {
+        Random aleatorio = new Random(SEMENTE + 1);
+        for (int caso = 0; caso < 300; caso++) {
+            AutomatoCompilado a = AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(2), "bc");
+            AutomatoCompilado b = AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(2), "ab");
+            String esperado = distingue(a, b, false, "abc");
+            assertEquals("caso " + caso, esperado, palavra(Equivalencia.contraExemplo(a, b)));
+            assertEquals("caso " + caso, esperado == null, Equivalencia.equivalentes(a, b));
+        }
+    }
+
+    @Test
+    public void inclusaoConcordaComForcaBruta() {
+        Random aleatorio = new Random(SEMENTE + 2);
+        for (int caso = 0; caso < 300; caso++) {
+            AutomatoCompilado a = AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(3), "ab");
+            //Parte dos casos compara um autômato com uma linguagem que o contém.
+            AutomatoCompilado b = AutomatosAleatorios.automato(aleatorio, 1 + aleatorio.nextInt(3), "ab");
+            if (caso % 3 == 0) {
+                b = OperacoesBooleanas.uniao(a, b);
+            }
+            String esperado = distingue(a, b, true, "ab");
+            assertEquals("caso " + caso, esperado, palavra(Equivalencia.contraExemploInclusao(a, b)));
+            assertEquals("caso " + caso, esperado == null, Equivalencia.contido(a, b));
+        }
+    }
+
+    /**
+     * Menor palavra, e a primeira na ordem dos símbolos entre as de mesmo
+     * tamanho, aceita por exatamente um dos autômatos ou, na inclusão, aceita
+     * pelo primeiro e rejeitada pelo segundo.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @param inclusao indica se a palavra deve ser aceita pelo primeiro.
+     * @param simbolos símbolos dos dois alfabetos, em ordem.
+     * @return Palavra, ou <b>null</b>, caso não exista.
+     */
+    private static String distingue(AutomatoCompilado a, AutomatoCompilado b, boolean inclusao,
+    String simbolos) {
+        int limite = pares(a, b, simbolos);
+        for (int comprimento = 0; comprimento < limite; comprimento++) {
+            for (String palavra : AutomatosAleatorios.palavras(simbolos, comprimento)) {
+                boolean aceitaA = AutomatosAleatorios.aceita(a, palavra);
+                boolean aceitaB = AutomatosAleatorios.aceita(b, palavra);
+                if (inclusao ? aceitaA && !aceitaB : aceitaA != aceitaB) {
+                    return palavra;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Número de pares de estados alcançáveis pela leitura das mesmas palavras
+     * nos dois autômatos, em que o estado de erro é representado por
+     * {@link afd.ftransicao.TabelaTransicao#INDEFINIDO}.
+     * @param a primeiro autômato.
+     * @param b segundo autômato.
+     * @param simbolos símbolos dos dois alfabetos.
+     * @return Número de pares.
+     */
+    private static int pares(AutomatoCompilado a, AutomatoCompilado b, String simbolos) {
+        Set<Long> visitados = new HashSet<>();
+        long[] fila = new long[(a.dimensaoEstados() + 1) * (b.dimensaoEstados() + 1)];
+        int fim = 0;
+        fila[fim++] = par(a.getEstadoInicial(), b.getEstadoInicial());
+        visitados.add(fila[0]);
+        for (int i = 0; i < fim; i++) {
+            int p = (int) (fila[i] >> 32);
+            int q = (int) fila[i];
+            for (char simbolo : simbolos.toCharArray()) {
+                long destino = par(
+                    p >= 0 ? a.getTabela().transicao(p, simbolo) : p,
+                    q >= 0 ? b.getTabela().transicao(q, simbolo) : q);
+                if (visitados.add(destino)) {
+                    fila[fim++] = destino;
+                }
+            }
+        }
+        return fim;
+    }
+
+    /**
+     * Chave de um par de estados.
+     * @param p estado do primeiro autômato.
+     * @param q estado do segundo autômato.
+     * @return Chave do par.
+     */
+    private static long par(int p, int q) {
+        return ((long) p << 32) | (q & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Palavra de uma Fita de Entrada.
+     * @param fita Fita de Entrada, ou <b>null</b>.
+     * @return Palavra, ou <b>null</b>.
+     */
+    private static String palavra(FitaEntrada fita) {
+        return (fita == null ? null : new String(fita.getCadeia()));
+    }
+
+}
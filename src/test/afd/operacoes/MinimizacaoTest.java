@@ -0,0 +1,132 @@
+package afd.operacoes;
+
+import afd.AutomatosAleatorios;
+import afd.automato.AutomatoCompilado;
+import afd.ftransicao.TabelaTransicao;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara a minimização com a enumeração, por força bruta, das palavras curtas
+ * aceitas, em autômatos aleatórios.
+ * @author Leandro
+ */
+public class MinimizacaoTest {
+
+    /**Semente dos autômatos gerados.*/
+    private static final long SEMENTE = 10;
+
+    @Test
+    public void minimoAceitaAsMesmasPalavras() {
+        Random aleatorio = new Random(SEMENTE);
+        for (int caso = 0; caso < 300; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(8), "abc");
+            AutomatoCompilado minimo = Minimizacao.minimizar(automato).getAutomato();
+            //O símbolo d não pertence ao alfabeto.
+            for (int comprimento = 0; comprimento <= 6; comprimento++) {
+                for (String palavra : AutomatosAleatorios.palavras("abcd", comprimento)) {
+                    assertEquals("caso " + caso + ", palavra " + palavra,
+                        AutomatosAleatorios.aceita(automato, palavra),
+                        AutomatosAleatorios.aceita(minimo, palavra));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void minimoTemUmEstadoPorClasseDeEquivalencia() {
+        Random aleatorio = new Random(SEMENTE + 1);
+        for (int caso = 0; caso < 300; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(7), "ab");
+            assertEquals("caso " + caso, classes(automato),
+                Minimizacao.minimizar(automato).getAutomato().dimensaoEstados());
+        }
+    }
+
+    @Test
+    public void automatoEditavelAceitaAsMesmasPalavras() throws Exception {
+        Random aleatorio = new Random(SEMENTE + 2);
+        for (int caso = 0; caso < 100; caso++) {
+            AutomatoCompilado automato = AutomatosAleatorios.automato(
+                aleatorio, 1 + aleatorio.nextInt(8), "ab");
+            AutomatoCompilado editavel = Minimizacao.minimizar(automato).criarAutomato().compilar();
+            for (int comprimento = 0; comprimento <= 6; comprimento++) {
+                for (String palavra : AutomatosAleatorios.palavras("ab", comprimento)) {
+                    assertEquals("caso " + caso + ", palavra " + palavra,
+                        AutomatosAleatorios.aceita(automato, palavra),
+                        AutomatosAleatorios.aceita(editavel, palavra));
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de estados do autômato mínimo, obtido pelo número de conjuntos
+     * distintos de palavras aceitas a partir dos estados alcançáveis. Palavras
+     * de tamanho até o número de estados bastam para distinguir dois estados.
+     * Em autômatos parciais, os estados que não aceitam palavra alguma
+     * equivalem ao estado de erro, que não consta do autômato mínimo.
+     * @param automato autômato.
+     * @return Número de estados do autômato mínimo.
+     */
+    private static int classes(AutomatoCompilado automato) {
+        TabelaTransicao tabela = automato.getTabela();
+        int n = automato.dimensaoEstados();
+        boolean[] alcancavel = new boolean[n];
+        int[] fila = new int[n];
+        int fim = 0;
+        boolean parcial = false;
+        alcancavel[automato.getEstadoInicial()] = true;
+        fila[fim++] = automato.getEstadoInicial();
+        for (int i = 0; i < fim; i++) {
+            for (int s = 0; s < tabela.dimensaoAlfabeto(); s++) {
+                int destino = tabela.destino(fila[i], s);
+                if (destino < 0) {
+                    parcial = true;
+                } else if (!alcancavel[destino]) {
+                    alcancavel[destino] = true;
+                    fila[fim++] = destino;
+                }
+            }
+        }
+        Set<String> assinaturas = new HashSet<>();
+        String vazia = null;
+        for (int i = 0; i < fim; i++) {
+            StringBuilder assinatura = new StringBuilder();
+            for (int comprimento = 0; comprimento <= n; comprimento++) {
+                for (String palavra : AutomatosAleatorios.palavras("ab", comprimento)) {
+                    assinatura.append(aceita(automato, fila[i], palavra) ? '1' : '0');
+                }
+            }
+            assinaturas.add(assinatura.toString());
+            if (vazia == null) {
+                vazia = assinatura.toString().replace('1', '0');
+            }
+        }
+        int classes = assinaturas.size();
+        if (parcial && assinaturas.contains(vazia)) {
+            classes--;
+        }
+        return Math.max(classes, 1);
+    }
+
+    /**
+     * Verifica se uma palavra é aceita a partir de um estado.
+     * @param automato autômato.
+     * @param estado estado de partida.
+     * @param palavra palavra.
+     * @return <b>true</b>, caso a palavra leve a um estado terminal.
+     */
+    private static boolean aceita(AutomatoCompilado automato, int estado, String palavra) {
+        for (int i = 0; i < palavra.length() && estado >= 0; i++) {
+            estado = automato.getTabela().transicao(estado, palavra.charAt(i));
+        }
+        return estado >= 0 && automato.isTerminal(estado);
+    }
+
+}